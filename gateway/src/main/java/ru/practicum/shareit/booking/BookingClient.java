@@ -1,16 +1,19 @@
 package ru.practicum.shareit.booking;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.util.StringUtils;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
 import ru.practicum.shareit.booking.dto.BookingState;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ServerTransportFactory;
 
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -18,16 +21,17 @@ public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
-        );
+    public BookingClient(ServerTransportFactory transportFactory, ResponseCache responseCache,
+                         RequestCoalescer requestCoalescer) {
+        super(API_PREFIX, transportFactory, responseCache, requestCoalescer);
     }
 
-    public ResponseEntity<Object> getAllBookings(long userId, BookingState state, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> getAllBookings(long userId, BookingState state, @Nullable String cursor,
+                                                       Integer from, Integer size) {
+        if (cursor != null) {
+            return get("?state={state}&cursor={cursor}&size={size}", userId,
+                    Map.of("state", state.name(), "cursor", cursor, "size", size));
+        }
         Map<String, Object> parameters = Map.of(
                 "state", state.name(),
                 "from", from,
@@ -36,21 +40,37 @@ public class BookingClient extends BaseClient {
         return get("?state={state}&from={from}&size={size}", userId, parameters);
     }
 
+    public Mono<ResponseEntity<Object>> countBookings(long userId, BookingState state) {
+        return getCached("/count?state=" + state.name(), userId);
+    }
 
-    public ResponseEntity<Object> createBooking(long userId, BookItemRequestDto requestDto) {
+    public Mono<ResponseEntity<Object>> createBooking(long userId, BookItemRequestDto requestDto) {
         return post("", userId, requestDto);
     }
 
-    public ResponseEntity<Object> getBookingByUserId(long userId, Long bookingId) {
-        return get("/" + bookingId, userId);
+    public Mono<ResponseEntity<Object>> getBookingByUserId(long userId, Long bookingId, @Nullable String ifNoneMatch) {
+        return getConditional("/" + bookingId, userId, ifNoneMatch);
     }
 
-    public ResponseEntity<Object> approve(long userId, Long bookingId, Boolean approved) {
+    public Mono<ResponseEntity<Object>> getBookings(long userId, List<Long> bookingIds) {
+        return get("?ids={ids}", userId, Map.of("ids", StringUtils.collectionToCommaDelimitedString(bookingIds)));
+    }
+
+    public Mono<ResponseEntity<Object>> approve(long userId, Long bookingId, Boolean approved) {
         return patch("/" + bookingId + "?approved=" + approved, userId);
     }
 
-    public ResponseEntity<Object> getAllBookingByItemOwner(Long userId, BookingState state) {
-        Map<String, Object> parameters = Map.of("state", state.name());
-        return get("/owner?state={state}", userId, parameters);
+    public Mono<ResponseEntity<Object>> getAllBookingByItemOwner(Long userId, BookingState state, @Nullable String cursor,
+                                                                 Integer from, Integer size) {
+        if (cursor != null) {
+            return get("/owner?state={state}&cursor={cursor}&size={size}", userId,
+                    Map.of("state", state.name(), "cursor", cursor, "size", size));
+        }
+        Map<String, Object> parameters = Map.of(
+                "state", state.name(),
+                "from", from,
+                "size", size
+        );
+        return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
     }
 }
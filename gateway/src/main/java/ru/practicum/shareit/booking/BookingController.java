@@ -3,15 +3,20 @@ package ru.practicum.shareit.booking;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 
+import java.util.List;
+
 
 @Controller
 @RequestMapping(path = "/bookings")
@@ -22,32 +27,51 @@ public class BookingController {
     private final BookingClient bookingClient;
 
     @GetMapping
-    public ResponseEntity<Object> getBookings(@RequestHeader("X-Sharer-User-Id") long userId,
+    public Mono<ResponseEntity<Object>> getBookings(@RequestHeader("X-Sharer-User-Id") long userId,
                                               @RequestParam(name = "state", defaultValue = "all") String stateParam,
+                                              @RequestParam(required = false) String cursor,
                                               @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
                                               @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
-        log.info("Get booking with state {}, userId={}, from={}, size={}", stateParam, userId, from, size);
-        return bookingClient.getAllBookings(userId, state, from, size);
+        log.info("Get booking with state {}, userId={}, cursor={}, from={}, size={}", stateParam, userId, cursor, from, size);
+        return bookingClient.getAllBookings(userId, state, cursor, from, size);
+    }
+
+    @GetMapping("/count")
+    public Mono<ResponseEntity<Object>> countBookings(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                      @RequestParam(name = "state", defaultValue = "all") String stateParam) {
+        BookingState state = BookingState.from(stateParam)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
+        log.info("Count bookings with state {}, userId={}", stateParam, userId);
+        return bookingClient.countBookings(userId, state);
     }
 
     @PostMapping
-    public ResponseEntity<Object> bookItem(@RequestHeader("X-Sharer-User-Id") long userId,
+    public Mono<ResponseEntity<Object>> bookItem(@RequestHeader("X-Sharer-User-Id") long userId,
                                            @RequestBody @Valid BookItemRequestDto requestDto) {
         log.info("Creating booking {}, userId={}", requestDto, userId);
         return bookingClient.createBooking(userId, requestDto);
     }
 
     @GetMapping("/{bookingId}")
-    public ResponseEntity<Object> getBooking(@RequestHeader("X-Sharer-User-Id") long userId,
-                                             @PathVariable Long bookingId) {
+    public Mono<ResponseEntity<Object>> getBooking(@RequestHeader("X-Sharer-User-Id") long userId,
+                                             @PathVariable Long bookingId,
+                                             @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+                                             String ifNoneMatch) {
         log.info("Get booking {}, userId={}", bookingId, userId);
-        return bookingClient.getBookingByUserId(userId, bookingId);
+        return bookingClient.getBookingByUserId(userId, bookingId, ifNoneMatch);
+    }
+
+    @GetMapping(params = "ids")
+    public Mono<ResponseEntity<Object>> getBookings(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                    @RequestParam @Size(max = 100) List<@Positive Long> ids) {
+        log.info("Get bookings {}, userId={}", ids, userId);
+        return bookingClient.getBookings(userId, ids);
     }
 
     @PatchMapping("/{bookingId}")
-    public ResponseEntity<Object> approve(@RequestHeader("X-Sharer-User-Id") Long userId,
+    public Mono<ResponseEntity<Object>> approve(@RequestHeader("X-Sharer-User-Id") Long userId,
                                           @PathVariable Long bookingId,
                                           @RequestParam Boolean approved) {
         return bookingClient.approve(userId, bookingId, approved);
@@ -55,10 +79,14 @@ public class BookingController {
 
 
     @GetMapping("/owner")
-    public ResponseEntity<Object> getAllBookingByItemOwner(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                           @RequestParam(defaultValue = "ALL") String state) {
+    public Mono<ResponseEntity<Object>> getAllBookingByItemOwner(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                           @RequestParam(defaultValue = "ALL") String state,
+                                                           @RequestParam(required = false) String cursor,
+                                                           @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                                           @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
         BookingState bookingState = BookingState.from(state)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + state));
-        return bookingClient.getAllBookingByItemOwner(userId, bookingState);
+        log.info("Get owner bookings with state {}, userId={}, cursor={}, from={}, size={}", state, userId, cursor, from, size);
+        return bookingClient.getAllBookingByItemOwner(userId, bookingState, cursor, from, size);
     }
 }
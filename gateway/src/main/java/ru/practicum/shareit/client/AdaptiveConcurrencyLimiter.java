@@ -0,0 +1,96 @@
+package ru.practicum.shareit.client;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * AIMD concurrency limit driven by round-trip time: the limit grows by one while calls stay close to the
+ * best observed RTT and shrinks multiplicatively when the smoothed RTT exceeds it by the tolerance or a call fails.
+ * The decrease is applied at most once per smoothed RTT: completions of calls that were already in flight when the
+ * limit went down reflect the same overload and must not shrink it again.
+ */
+class AdaptiveConcurrencyLimiter {
+    private static final int RTT_PROBE_SAMPLES = 1000;
+    private static final double RTT_SMOOTHING = 0.2;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final double rttTolerance;
+    private final LongSupplier clock;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+    private double minRtt = Double.MAX_VALUE;
+    private double smoothedRtt;
+    private int samples;
+    private long lastDecrease;
+    private boolean decreased;
+
+    AdaptiveConcurrencyLimiter(ResilienceProperties.Limiter properties) {
+        this(properties, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(ResilienceProperties.Limiter properties, LongSupplier clock) {
+        this.clock = clock;
+        this.minLimit = properties.getMinLimit();
+        this.maxLimit = properties.getMaxLimit();
+        this.backoffRatio = properties.getBackoffRatio();
+        this.rttTolerance = properties.getRttTolerance();
+        this.limit = properties.getInitialLimit();
+    }
+
+    boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    void release() {
+        inFlight.decrementAndGet();
+    }
+
+    synchronized void onSuccess(long rttNanos, int inFlightAtStart) {
+        if (++samples >= RTT_PROBE_SAMPLES || minRtt == Double.MAX_VALUE) {
+            samples = 0;
+            minRtt = rttNanos;
+            smoothedRtt = rttNanos;
+        } else {
+            minRtt = Math.min(minRtt, rttNanos);
+            smoothedRtt += RTT_SMOOTHING * (rttNanos - smoothedRtt);
+        }
+
+        if (smoothedRtt > minRtt * rttTolerance) {
+            decrease();
+        } else if (inFlightAtStart * 2 >= limit) {
+            limit = Math.min(maxLimit, limit + 1);
+        }
+    }
+
+    synchronized void onDropped() {
+        decrease();
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+
+    double limit() {
+        return limit;
+    }
+
+    private void decrease() {
+        long now = clock.getAsLong();
+        if (decreased && now - lastDecrease < smoothedRtt) {
+            return;
+        }
+        decreased = true;
+        lastDecrease = now;
+        limit = Math.max(minLimit, limit * backoffRatio);
+    }
+}
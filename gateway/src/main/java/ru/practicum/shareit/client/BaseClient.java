@@ -1,117 +1,152 @@
 package ru.practicum.shareit.client;
 
-import org.springframework.http.*;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
 import org.springframework.lang.Nullable;
-import org.springframework.web.client.HttpStatusCodeException;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
 public class BaseClient {
-    protected final RestTemplate rest;
+    private static final String INVALIDATE_HEADER = "X-ShareIt-Invalidate";
+    private static final List<String> PASS_THROUGH_HEADERS = List.of(HttpHeaders.CONTENT_TYPE, HttpHeaders.ETAG,
+            "X-Next-Cursor", "X-Total-Hits", "X-Total-Hits-Relation");
 
-    public BaseClient(RestTemplate rest) {
-        this.rest = rest;
-    }
+    protected final ServerTransport transport;
+    private final String apiPrefix;
+    private final ResponseCache responseCache;
+    private final RequestCoalescer requestCoalescer;
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
-        }
+    public BaseClient(String apiPrefix, ServerTransportFactory transportFactory, ResponseCache responseCache,
+                      RequestCoalescer requestCoalescer) {
+        this.apiPrefix = apiPrefix;
+        this.transport = transportFactory.create(apiPrefix);
+        this.responseCache = responseCache;
+        this.requestCoalescer = requestCoalescer;
+    }
 
+    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<byte[]> response) {
         ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+        for (String header : PASS_THROUGH_HEADERS) {
+            List<String> values = response.getHeaders().get(header);
+            if (values != null) {
+                responseBuilder.header(header, values.toArray(String[]::new));
+            }
+        }
 
-        if (response.hasBody()) {
-            return responseBuilder.body(response.getBody());
+        byte[] body = response.getBody();
+        if (body != null && body.length > 0) {
+            return responseBuilder.body(body);
         }
 
         return responseBuilder.build();
     }
 
-    protected ResponseEntity<Object> get(String path) {
+    protected Mono<ResponseEntity<Object>> getCached(String path, @Nullable Long userId) {
+        return getCached(path, userId, null);
+    }
+
+    protected Mono<ResponseEntity<Object>> getCached(String path, @Nullable Long userId, @Nullable String ifNoneMatch) {
+        return responseCache.get(apiPrefix + path, userId, ifNoneMatch,
+                () -> makeAndSendRequest(HttpMethod.GET, path, userId, null, null, null));
+    }
+
+    protected Mono<ResponseEntity<Object>> getCached(ResponseCache cache, String path, Map<String, Object> parameters) {
+        String key = apiPrefix + UriComponentsBuilder.fromUriString(path).buildAndExpand(parameters).toUriString();
+        return cache.get(key, null, null,
+                () -> makeAndSendRequest(HttpMethod.GET, path, null, parameters, null, null));
+    }
+
+    protected Mono<ResponseEntity<Object>> getConditional(String path, long userId, @Nullable String ifNoneMatch) {
+        HttpHeaders headers = null;
+        if (ifNoneMatch != null) {
+            headers = new HttpHeaders();
+            headers.setIfNoneMatch(ifNoneMatch);
+        }
+        return makeAndSendRequest(HttpMethod.GET, path, userId, null, headers, null);
+    }
+
+    protected Mono<ResponseEntity<Object>> get(String path) {
         return get(path, null, null);
     }
 
-    protected ResponseEntity<Object> get(String path, long userId) {
+    protected Mono<ResponseEntity<Object>> get(String path, long userId) {
         return get(path, userId, null);
     }
 
-    protected ResponseEntity<Object> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
-        return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
+    protected Mono<ResponseEntity<Object>> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
+        return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null, null);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, T body) {
+    protected <T> Mono<ResponseEntity<Object>> post(String path, T body) {
         return post(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, long userId, T body) {
+    protected <T> Mono<ResponseEntity<Object>> post(String path, long userId, T body) {
         return post(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
-        return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
+    protected <T> Mono<ResponseEntity<Object>> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+        return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, null, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, T body) {
+    protected <T> Mono<ResponseEntity<Object>> put(String path, long userId, T body) {
         return put(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
-        return makeAndSendRequest(HttpMethod.PUT, path, userId, parameters, body);
+    protected <T> Mono<ResponseEntity<Object>> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
+        return makeAndSendRequest(HttpMethod.PUT, path, userId, parameters, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, T body) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, T body) {
         return patch(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, long userId) {
         return patch(path, userId, null, null);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId, T body) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, long userId, T body) {
         return patch(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
-        return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body);
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+        return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, null, body);
     }
 
-    protected ResponseEntity<Object> delete(String path) {
+    protected Mono<ResponseEntity<Object>> delete(String path) {
         return delete(path, null, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, long userId) {
+    protected Mono<ResponseEntity<Object>> delete(String path, long userId) {
         return delete(path, userId, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
-        return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
+    protected Mono<ResponseEntity<Object>> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
+        return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null, null);
     }
 
-    private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
-
-        ResponseEntity<Object> shareitServerResponse;
-        try {
-            if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
-            } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
-            }
-        } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
-        }
-        return prepareGatewayResponse(shareitServerResponse);
+    private <T> Mono<ResponseEntity<Object>> makeAndSendRequest(HttpMethod method, String path, Long userId,
+                                                                @Nullable Map<String, Object> parameters,
+                                                                @Nullable HttpHeaders headers, @Nullable T body) {
+        Mono<ResponseEntity<byte[]>> exchange = method == HttpMethod.GET
+                ? requestCoalescer.coalesce(apiPrefix, path, userId, parameters, headers,
+                        () -> transport.exchange(method, path, userId, parameters, headers, null))
+                : transport.exchange(method, path, userId, parameters, headers, body);
+        return exchange
+                .doOnNext(response -> responseCache.evict(invalidatedPaths(response.getHeaders())))
+                .map(BaseClient::prepareGatewayResponse);
     }
 
-    private HttpHeaders defaultHeaders(Long userId) {
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
-        if (userId != null) {
-            headers.set("X-Sharer-User-Id", String.valueOf(userId));
-        }
-        return headers;
+    private static List<String> invalidatedPaths(HttpHeaders headers) {
+        return headers.getOrEmpty(INVALIDATE_HEADER).stream()
+                .flatMap(value -> Arrays.stream(value.split(",")))
+                .map(String::trim)
+                .filter(path -> !path.isEmpty())
+                .toList();
     }
 }
@@ -0,0 +1,75 @@
+package ru.practicum.shareit.client;
+
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.micrometer.core.instrument.Counter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+@Slf4j
+class GuardedServerTransport implements ServerTransport {
+    private final ServerTransport delegate;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final CircuitBreaker circuitBreaker;
+    private final Counter limitRejections;
+    private final Counter circuitRejections;
+
+    GuardedServerTransport(ServerTransport delegate, AdaptiveConcurrencyLimiter limiter, CircuitBreaker circuitBreaker,
+                           Counter limitRejections, Counter circuitRejections) {
+        this.delegate = delegate;
+        this.limiter = limiter;
+        this.circuitBreaker = circuitBreaker;
+        this.limitRejections = limitRejections;
+        this.circuitRejections = circuitRejections;
+    }
+
+    @Override
+    public Mono<ResponseEntity<byte[]>> exchange(HttpMethod method, String path, @Nullable Long userId,
+                                                 @Nullable Map<String, Object> parameters, @Nullable HttpHeaders headers,
+                                                 @Nullable Object body) {
+        return Mono.defer(() -> {
+            if (!limiter.tryAcquire()) {
+                limitRejections.increment();
+                log.debug("Concurrency limit {} reached for {}", (int) limiter.limit(), circuitBreaker.getName());
+                return Mono.just(unavailable("Server is overloaded, try again later"));
+            }
+            int inFlightAtStart = limiter.inFlight();
+            long start = System.nanoTime();
+            return delegate.exchange(method, path, userId, parameters, headers, body)
+                    .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+                    .doOnNext(response -> {
+                        if (response.getStatusCode().is5xxServerError()) {
+                            limiter.onDropped();
+                        } else {
+                            limiter.onSuccess(System.nanoTime() - start, inFlightAtStart);
+                        }
+                    })
+                    .doOnError(e -> {
+                        if (!(e instanceof CallNotPermittedException)) {
+                            limiter.onDropped();
+                        }
+                    })
+                    .doFinally(signal -> limiter.release())
+                    .onErrorResume(CallNotPermittedException.class, e -> {
+                        circuitRejections.increment();
+                        return Mono.just(unavailable("Server is unavailable, try again later"));
+                    });
+        });
+    }
+
+    private static ResponseEntity<byte[]> unavailable(String message) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(("{\"error\":\"" + message + "\"}").getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,82 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+@Slf4j
+@Component
+public class RequestCoalescer {
+    private static final Pattern ID_SEGMENT = Pattern.compile("/\\d+(?=/|$)");
+
+    private final Map<Key, Mono<ResponseEntity<byte[]>>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final boolean enabled;
+    private final MeterRegistry meterRegistry;
+
+    public RequestCoalescer(@Value("${shareit-gateway.coalescing.enabled:true}") boolean enabled,
+                            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public Mono<ResponseEntity<byte[]>> coalesce(String apiPrefix, String path, @Nullable Long userId,
+                                                 @Nullable Map<String, Object> parameters,
+                                                 @Nullable HttpHeaders headers,
+                                                 Supplier<Mono<ResponseEntity<byte[]>>> call) {
+        if (!enabled) {
+            return call.get();
+        }
+        Key key = new Key(apiPrefix + path, userId, parameters == null ? Map.of() : Map.copyOf(parameters),
+                headers == null ? Map.of() : Map.copyOf(headers));
+        return Mono.defer(() -> {
+            AtomicBoolean leader = new AtomicBoolean();
+            Mono<ResponseEntity<byte[]>> shared = inFlight.computeIfAbsent(key, k -> {
+                leader.set(true);
+                AtomicReference<Mono<ResponseEntity<byte[]>>> self = new AtomicReference<>();
+                Mono<ResponseEntity<byte[]>> mono = call.get()
+                        .doFinally(signal -> inFlight.remove(k, self.get()))
+                        .share();
+                self.set(mono);
+                return mono;
+            });
+            counter(route(apiPrefix, path), leader.get() ? "upstream" : "coalesced").increment();
+            if (!leader.get()) {
+                log.debug("Joined in-flight request {}", key);
+            }
+            return shared;
+        });
+    }
+
+    private static String route(String apiPrefix, String path) {
+        int query = path.indexOf('?');
+        String pathOnly = query < 0 ? path : path.substring(0, query);
+        return apiPrefix + ID_SEGMENT.matcher(pathOnly).replaceAll("/{id}");
+    }
+
+    private Counter counter(String route, String result) {
+        return counters.computeIfAbsent(route + ' ' + result, name -> Counter.builder("gateway.coalescing.requests")
+                .description("GET requests that went upstream or joined an identical in-flight request")
+                .tag("route", route)
+                .tag("result", result)
+                .register(meterRegistry));
+    }
+
+    private record Key(String path, @Nullable Long userId, Map<String, Object> parameters,
+                       Map<String, List<String>> headers) {
+    }
+}
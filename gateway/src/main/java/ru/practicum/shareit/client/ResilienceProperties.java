@@ -0,0 +1,36 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-gateway.resilience")
+public class ResilienceProperties {
+    private boolean enabled = true;
+    private Limiter limiter = new Limiter();
+    private Breaker circuitBreaker = new Breaker();
+
+    @Getter
+    @Setter
+    public static class Limiter {
+        private int initialLimit = 20;
+        private int minLimit = 2;
+        private int maxLimit = 200;
+        private double backoffRatio = 0.9;
+        private double rttTolerance = 2.0;
+    }
+
+    @Getter
+    @Setter
+    public static class Breaker {
+        private float failureRateThreshold = 50;
+        private int slidingWindowSize = 50;
+        private int minimumNumberOfCalls = 20;
+        private Duration waitInOpenState = Duration.ofSeconds(10);
+        private int permittedCallsInHalfOpenState = 5;
+    }
+}
@@ -0,0 +1,89 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.function.Supplier;
+
+@Slf4j
+@Component
+public class ResponseCache {
+    private final Cache<Key, ResponseEntity<Object>> cache;
+
+    @Autowired
+    public ResponseCache(@Value("${shareit-gateway.cache.max-size:10000}") long maxSize,
+                         @Value("${shareit-gateway.cache.ttl:30s}") Duration ttl,
+                         MeterRegistry meterRegistry) {
+        this(maxSize, ttl, meterRegistry, "gateway-responses");
+    }
+
+    public ResponseCache(long maxSize, Duration ttl, MeterRegistry meterRegistry, String name) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+    }
+
+    public Mono<ResponseEntity<Object>> get(String path, @Nullable Long userId, @Nullable String ifNoneMatch,
+                                            Supplier<Mono<ResponseEntity<Object>>> loader) {
+        Key key = new Key(path, userId);
+        ResponseEntity<Object> cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return Mono.just(conditional(cached, ifNoneMatch));
+        }
+        return loader.get()
+                .doOnNext(response -> {
+                    if (response.getStatusCode().is2xxSuccessful()) {
+                        cache.put(key, response);
+                    }
+                })
+                .map(response -> conditional(response, ifNoneMatch));
+    }
+
+    public void evict(@Nullable Collection<String> paths) {
+        if (paths == null || paths.isEmpty()) {
+            return;
+        }
+        log.debug("Evicting cached responses for {}", paths);
+        cache.asMap().keySet().removeIf(key -> paths.contains(key.path()) || paths.contains(withoutQuery(key.path())));
+    }
+
+    private static ResponseEntity<Object> conditional(ResponseEntity<Object> response, @Nullable String ifNoneMatch) {
+        String etag = response.getHeaders().getETag();
+        if (ifNoneMatch == null || etag == null || !response.getStatusCode().is2xxSuccessful()) {
+            return response;
+        }
+        String current = opaqueTag(etag);
+        boolean matches = Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .anyMatch(candidate -> candidate.equals("*") || opaqueTag(candidate).equals(current));
+        return matches ? ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build() : response;
+    }
+
+    private static String withoutQuery(String path) {
+        int query = path.indexOf('?');
+        return query < 0 ? path : path.substring(0, query);
+    }
+
+    private static String opaqueTag(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    private record Key(String path, @Nullable Long userId) {
+    }
+}
@@ -0,0 +1,45 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestTemplate;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+public class RestTemplateTransport implements ServerTransport {
+    private final RestTemplate rest;
+
+    public RestTemplateTransport(RestTemplate rest) {
+        this.rest = rest;
+    }
+
+    @Override
+    public Mono<ResponseEntity<byte[]>> exchange(HttpMethod method, String path, @Nullable Long userId,
+                                                 @Nullable Map<String, Object> parameters, @Nullable HttpHeaders headers,
+                                                 @Nullable Object body) {
+        return Mono.fromCallable(() -> send(method, path, userId, parameters, headers, body));
+    }
+
+    private ResponseEntity<byte[]> send(HttpMethod method, String path, @Nullable Long userId,
+                                        @Nullable Map<String, Object> parameters, @Nullable HttpHeaders headers,
+                                        @Nullable Object body) {
+        HttpEntity<Object> requestEntity = new HttpEntity<>(body, TransportSupport.defaultHeaders(userId, headers));
+
+        try {
+            if (parameters != null) {
+                return rest.exchange(path, method, requestEntity, byte[].class, parameters);
+            }
+            return rest.exchange(path, method, requestEntity, byte[].class);
+        } catch (HttpStatusCodeException e) {
+            HttpHeaders errorHeaders = e.getResponseHeaders() != null ? e.getResponseHeaders() : new HttpHeaders();
+            return ResponseEntity.status(e.getStatusCode())
+                    .headers(errorHeaders)
+                    .body(e.getResponseBodyAsByteArray());
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import io.netty.channel.ChannelOption;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+@Configuration
+@EnableConfigurationProperties(ServerConnectionProperties.class)
+public class ServerConnectionConfig {
+    private static final String POOL_NAME = "shareit-server";
+
+    @Bean
+    public PoolingHttpClientConnectionManager serverConnectionManager(ServerConnectionProperties properties) {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(properties.getMaxTotal())
+                .setMaxConnPerRoute(properties.getMaxPerRoute())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(properties.getConnectTimeout()))
+                        .setSocketTimeout(Timeout.of(properties.getReadTimeout()))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient serverHttpClient(PoolingHttpClientConnectionManager serverConnectionManager,
+                                                ServerConnectionProperties properties) {
+        HttpClientBuilder builder = HttpClients.custom();
+        if (!properties.isCompression()) {
+            builder.disableContentCompression();
+        }
+        return builder
+                .setConnectionManager(serverConnectionManager)
+                .setKeepAliveStrategy((response, context) -> TimeValue.of(properties.getKeepAlive()))
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(properties.getIdleEviction()))
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setResponseTimeout(Timeout.of(properties.getReadTimeout()))
+                        .build())
+                .build();
+    }
+
+    @Bean
+    public HttpComponentsClientHttpRequestFactory serverRequestFactory(CloseableHttpClient serverHttpClient) {
+        return new HttpComponentsClientHttpRequestFactory(serverHttpClient);
+    }
+
+    @Bean
+    public MeterBinder serverConnectionPoolMetrics(PoolingHttpClientConnectionManager serverConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(serverConnectionManager, POOL_NAME);
+    }
+
+    /**
+     * Reactor Netty keeps a separate pool per remote address and has no cap across them, so for the single
+     * server route the limit is the one HttpClient5 would apply to it: max-per-route bounded by max-total.
+     * Likewise an idle connection is dropped after keep-alive or idle-eviction, whichever comes first.
+     */
+    @Bean(destroyMethod = "disposeLater")
+    public ConnectionProvider serverConnectionProvider(ServerConnectionProperties properties) {
+        Duration keepAlive = properties.getKeepAlive();
+        Duration idleEviction = properties.getIdleEviction();
+        return ConnectionProvider.builder(POOL_NAME)
+                .maxConnections(Math.min(properties.getMaxPerRoute(), properties.getMaxTotal()))
+                .maxIdleTime(keepAlive.compareTo(idleEviction) < 0 ? keepAlive : idleEviction)
+                .evictInBackground(idleEviction)
+                .pendingAcquireTimeout(properties.getConnectTimeout().plus(properties.getReadTimeout()))
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public ReactorClientHttpConnector serverHttpConnector(ConnectionProvider serverConnectionProvider,
+                                                          ServerConnectionProperties properties) {
+        HttpClient httpClient = HttpClient.create(serverConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+                .responseTimeout(properties.getReadTimeout())
+                .compress(properties.isCompression())
+                .protocol(properties.isH2c() ? HttpProtocol.H2C : HttpProtocol.HTTP11);
+        return new ReactorClientHttpConnector(httpClient);
+    }
+}
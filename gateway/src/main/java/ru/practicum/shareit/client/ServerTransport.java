@@ -0,0 +1,15 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+public interface ServerTransport {
+    Mono<ResponseEntity<byte[]>> exchange(HttpMethod method, String path, @Nullable Long userId,
+                                          @Nullable Map<String, Object> parameters, @Nullable HttpHeaders headers,
+                                          @Nullable Object body);
+}
@@ -0,0 +1,63 @@
+package ru.practicum.shareit.client;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+@Slf4j
+@Component
+public class ServerTransportFactory {
+    private final String serverUrl;
+    private final TransportType transportType;
+    private final RestTemplateBuilder restTemplateBuilder;
+    private final WebClient.Builder webClientBuilder;
+    private final HttpComponentsClientHttpRequestFactory serverRequestFactory;
+    private final ReactorClientHttpConnector serverHttpConnector;
+    private final ServerTransportGuard transportGuard;
+
+    public ServerTransportFactory(@Value("${shareit-server.url}") String serverUrl,
+                                  @Value("${shareit-server.transport:blocking}") TransportType transportType,
+                                  RestTemplateBuilder restTemplateBuilder,
+                                  WebClient.Builder webClientBuilder,
+                                  HttpComponentsClientHttpRequestFactory serverRequestFactory,
+                                  ReactorClientHttpConnector serverHttpConnector,
+                                  ServerConnectionProperties connectionProperties,
+                                  ServerTransportGuard transportGuard) {
+        this.serverUrl = serverUrl;
+        this.transportType = transportType;
+        this.restTemplateBuilder = restTemplateBuilder;
+        this.webClientBuilder = webClientBuilder;
+        this.serverRequestFactory = serverRequestFactory;
+        this.serverHttpConnector = serverHttpConnector;
+        this.transportGuard = transportGuard;
+        log.info("Gateway uses {} transport to {}", transportType, serverUrl);
+        if (connectionProperties.isH2c() && transportType == TransportType.BLOCKING) {
+            log.warn("h2c is only supported by the reactive transport, blocking transport stays on HTTP/1.1");
+        }
+    }
+
+    public ServerTransport create(String apiPrefix) {
+        DefaultUriBuilderFactory uriBuilderFactory = new DefaultUriBuilderFactory(serverUrl + apiPrefix);
+        ServerTransport transport = switch (transportType) {
+            case REACTIVE -> new WebClientTransport(webClientBuilder.clone()
+                    .clientConnector(serverHttpConnector)
+                    .uriBuilderFactory(uriBuilderFactory)
+                    .build());
+            case BLOCKING -> new RestTemplateTransport(restTemplateBuilder
+                    .uriTemplateHandler(uriBuilderFactory)
+                    .requestFactory(() -> serverRequestFactory)
+                    .build());
+        };
+        return transportGuard.guard(apiPrefix, transport);
+    }
+
+    public enum TransportType {
+        BLOCKING,
+        REACTIVE
+    }
+}
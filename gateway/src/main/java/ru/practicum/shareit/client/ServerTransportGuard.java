@@ -0,0 +1,45 @@
+package ru.practicum.shareit.client;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ServerTransportGuard {
+    private final ResilienceProperties properties;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final MeterRegistry meterRegistry;
+
+    public ServerTransportGuard(ResilienceProperties properties, CircuitBreakerRegistry circuitBreakerRegistry,
+                                MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public ServerTransport guard(String apiPrefix, ServerTransport transport) {
+        if (!properties.isEnabled()) {
+            return transport;
+        }
+        String client = apiPrefix.replaceFirst("^/", "");
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties.getLimiter());
+        Gauge.builder("gateway.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::limit)
+                .tag("client", client)
+                .register(meterRegistry);
+        Gauge.builder("gateway.concurrency.inflight", limiter, AdaptiveConcurrencyLimiter::inFlight)
+                .tag("client", client)
+                .register(meterRegistry);
+        return new GuardedServerTransport(transport, limiter, circuitBreakerRegistry.circuitBreaker(client),
+                rejections(client, "limit"), rejections(client, "circuit-open"));
+    }
+
+    private Counter rejections(String client, String reason) {
+        return Counter.builder("gateway.concurrency.rejected")
+                .description("Server calls rejected with 503 before reaching the server")
+                .tag("client", client)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
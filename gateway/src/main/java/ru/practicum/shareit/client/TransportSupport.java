@@ -0,0 +1,26 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+
+final class TransportSupport {
+
+    private TransportSupport() {
+    }
+
+    static HttpHeaders defaultHeaders(@Nullable Long userId, @Nullable HttpHeaders extraHeaders) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        if (userId != null) {
+            headers.set("X-Sharer-User-Id", String.valueOf(userId));
+        }
+        if (extraHeaders != null) {
+            headers.addAll(extraHeaders);
+        }
+        return headers;
+    }
+}
@@ -0,0 +1,31 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+public class WebClientTransport implements ServerTransport {
+    private final WebClient webClient;
+
+    public WebClientTransport(WebClient webClient) {
+        this.webClient = webClient;
+    }
+
+    @Override
+    public Mono<ResponseEntity<byte[]>> exchange(HttpMethod method, String path, @Nullable Long userId,
+                                                 @Nullable Map<String, Object> parameters, @Nullable HttpHeaders headers,
+                                                 @Nullable Object body) {
+        WebClient.RequestBodySpec request = webClient.method(method)
+                .uri(path, parameters != null ? parameters : Map.of())
+                .headers(requestHeaders -> requestHeaders.addAll(TransportSupport.defaultHeaders(userId, headers)));
+
+        WebClient.RequestHeadersSpec<?> spec = body != null ? request.bodyValue(body) : request;
+
+        return spec.exchangeToMono(response -> response.toEntity(byte[].class));
+    }
+}
@@ -1,39 +1,57 @@
 package ru.practicum.shareit.item;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ServerTransportFactory;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 @Service
 public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
+    private final ResponseCache suggestionCache;
+
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
-        );
+    public ItemClient(ServerTransportFactory transportFactory, ResponseCache responseCache,
+                      RequestCoalescer requestCoalescer, MeterRegistry meterRegistry,
+                      @Value("${shareit-gateway.suggest-cache.max-size:10000}") long suggestCacheSize,
+                      @Value("${shareit-gateway.suggest-cache.ttl:5s}") Duration suggestCacheTtl) {
+        super(API_PREFIX, transportFactory, responseCache, requestCoalescer);
+        this.suggestionCache = new ResponseCache(suggestCacheSize, suggestCacheTtl, meterRegistry,
+                "gateway-suggestions");
     }
 
 
-    public ResponseEntity<Object> findItem(Long itemId,
-                                           Long userId) {
-        return get("/" + itemId, userId);
+    public Mono<ResponseEntity<Object>> findItem(Long itemId,
+                                           Long userId,
+                                           @Nullable String ifNoneMatch) {
+        return getCached("/" + itemId, userId, ifNoneMatch);
+    }
+
+    public Mono<ResponseEntity<Object>> findItems(List<Long> ids, Long userId) {
+        return get("?ids={ids}", userId, Map.of("ids", StringUtils.collectionToCommaDelimitedString(ids)));
     }
 
-    public ResponseEntity<Object> findUserItems(Long userId, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> findUserItems(Long userId, @Nullable String cursor, Integer from, Integer size) {
+        if (cursor != null) {
+            return get("?cursor={cursor}&size={size}", userId, Map.of("cursor", cursor, "size", size));
+        }
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
@@ -41,19 +59,43 @@ public class ItemClient extends BaseClient {
         return get("?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> searchItems(String text) {
-        return get("/search?text=" + text);
+    public Mono<ResponseEntity<Object>> findAvailability(Long itemId, LocalDateTime from, LocalDateTime to) {
+        return get("/" + itemId + "/availability?from={from}&to={to}", null, Map.of("from", from, "to", to));
+    }
+
+    public Mono<ResponseEntity<Object>> findAvailability(List<Long> ids, LocalDateTime from, LocalDateTime to) {
+        Map<String, Object> parameters = Map.of(
+                "ids", StringUtils.collectionToCommaDelimitedString(ids),
+                "from", from,
+                "to", to
+        );
+        return get("/availability?ids={ids}&from={from}&to={to}", null, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> searchItems(String text, Integer from, Integer size, boolean total) {
+        Map<String, Object> parameters = Map.of(
+                "text", text,
+                "from", from,
+                "size", size,
+                "total", total
+        );
+        return get("/search?text={text}&from={from}&size={size}&total={total}", null, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> suggestItems(String prefix) {
+        String normalized = prefix.strip().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        return getCached(suggestionCache, "/suggest?prefix={prefix}", Map.of("prefix", normalized));
     }
 
-    public ResponseEntity<Object> addItem(Long userId, ItemDto itemDto) {
+    public Mono<ResponseEntity<Object>> addItem(Long userId, ItemDto itemDto) {
         return post("", userId, itemDto);
     }
 
-    public ResponseEntity<Object> addComment(CommentDto comment, Long itemId, Long userId) {
+    public Mono<ResponseEntity<Object>> addComment(CommentDto comment, Long itemId, Long userId) {
         return post("/" + itemId + "/comment", userId, comment);
     }
 
-    public ResponseEntity<Object> updateItem(Long userId, ItemDto itemDto, Long itemId) {
+    public Mono<ResponseEntity<Object>> updateItem(Long userId, ItemDto itemDto, Long itemId) {
         return patch("/" + itemId, userId, itemDto);
     }
 }
@@ -1,18 +1,25 @@
 package ru.practicum.shareit.item;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.List;
 
 @Controller
 @RequestMapping(path = "/items")
@@ -23,42 +30,84 @@ public class ItemController {
     private final ItemClient itemClient;
 
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> getItem(@PathVariable Long itemId,
-                                          @RequestHeader("X-Sharer-User-Id") Long userId) {
+    public Mono<ResponseEntity<Object>> getItem(@PathVariable Long itemId,
+                                          @RequestHeader("X-Sharer-User-Id") Long userId,
+                                          @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+                                          String ifNoneMatch) {
 
-        return itemClient.findItem(itemId, userId);
+        return itemClient.findItem(itemId, userId, ifNoneMatch);
+    }
+
+    @GetMapping(params = "ids")
+    public Mono<ResponseEntity<Object>> getItems(@RequestParam @Size(max = 100) List<@Positive Long> ids,
+                                                 @RequestHeader("X-Sharer-User-Id") Long userId) {
+        return itemClient.findItems(ids, userId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getItemsByUserid(@RequestHeader("X-Sharer-User-Id") Long userId,
+    public Mono<ResponseEntity<Object>> getItemsByUserid(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                   @RequestParam(required = false) String cursor,
                                                    @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
                                                    @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
-        return itemClient.findUserItems(userId, from, size);
+        return itemClient.findUserItems(userId, cursor, from, size);
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public Mono<ResponseEntity<Object>> getAvailability(@PathVariable @Positive Long itemId,
+                                                        @RequestParam @NotNull
+                                                        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                        LocalDateTime from,
+                                                        @RequestParam @NotNull
+                                                        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                        LocalDateTime to) {
+        return itemClient.findAvailability(itemId, from, to);
+    }
+
+    @GetMapping("/availability")
+    public Mono<ResponseEntity<Object>> getAvailability(@RequestParam @Size(max = 100) List<@Positive Long> ids,
+                                                        @RequestParam @NotNull
+                                                        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                        LocalDateTime from,
+                                                        @RequestParam @NotNull
+                                                        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                        LocalDateTime to) {
+        return itemClient.findAvailability(ids, from, to);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> searchItems(@RequestParam(required = false) final String text) {
+    public Mono<ResponseEntity<Object>> searchItems(@RequestParam(required = false) final String text,
+                                                    @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                                    @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+                                                    @RequestParam(name = "total", defaultValue = "false") boolean total) {
         if (text == null || text.isBlank()) {
-            return ResponseEntity.ok(Collections.emptyList());
+            return Mono.just(ResponseEntity.ok(Collections.emptyList()));
+        }
+        return itemClient.searchItems(text, from, size, total);
+    }
+
+    @GetMapping("/suggest")
+    public Mono<ResponseEntity<Object>> suggestItems(@RequestParam(required = false) @Size(max = 100) final String prefix) {
+        if (prefix == null || prefix.isBlank()) {
+            return Mono.just(ResponseEntity.ok(Collections.emptyList()));
         }
-        return itemClient.searchItems(text);
+        return itemClient.suggestItems(prefix);
     }
 
     @PostMapping
-    public ResponseEntity<Object> addItem(@RequestHeader("X-Sharer-User-Id") Long userId,
+    public Mono<ResponseEntity<Object>> addItem(@RequestHeader("X-Sharer-User-Id") Long userId,
                                           @RequestBody @Valid ItemDto itemDto) {
         return itemClient.addItem(userId, itemDto);
     }
 
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> addComment(@RequestBody @Valid CommentDto comment,
+    public Mono<ResponseEntity<Object>> addComment(@RequestBody @Valid CommentDto comment,
                                              @PathVariable Long itemId,
                                              @RequestHeader("X-Sharer-User-Id") Long userId) {
         return itemClient.addComment(comment, itemId, userId);
     }
 
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> updateItem(@RequestHeader("X-Sharer-User-Id") Long userId,
+    public Mono<ResponseEntity<Object>> updateItem(@RequestHeader("X-Sharer-User-Id") Long userId,
                                              @RequestBody ItemDto itemDto,
                                              @PathVariable Long itemId) {
         return itemClient.updateItem(userId, itemDto, itemId);
@@ -0,0 +1,81 @@
+package ru.practicum.shareit.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+public class RateLimitInterceptor implements HandlerInterceptor {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+
+    private final RateLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Cache<BucketKey, TokenBucket> buckets;
+    private final Map<String, Counter> rejections = new ConcurrentHashMap<>();
+
+    public RateLimitInterceptor(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxBuckets())
+                .expireAfterAccess(properties.getIdleTimeout())
+                .build();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws IOException {
+        if (!properties.isEnabled() || request.getDispatcherType() != DispatcherType.REQUEST) {
+            return true;
+        }
+        String route = (String) request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (route == null) {
+            return true;
+        }
+        String userId = request.getHeader(USER_HEADER);
+        String client = userId != null ? "user:" + userId : "ip:" + request.getRemoteAddr();
+        TokenBucket bucket = buckets.get(new BucketKey(client, request.getMethod(), route), key -> {
+            RateLimitProperties.Budget budget = properties.budgetFor(route);
+            return new TokenBucket(budget.getCapacity(), budget.getPerSecond());
+        });
+
+        long waitNanos = bucket.tryAcquire();
+        if (waitNanos == 0) {
+            return true;
+        }
+
+        long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        rejections.computeIfAbsent(route, r -> Counter.builder("gateway.ratelimit.rejected")
+                        .description("Requests rejected by the per-user rate limit")
+                        .tag("route", r)
+                        .register(meterRegistry))
+                .increment();
+        log.debug("Rate limit exceeded for {} on {} {}", client, request.getMethod(), route);
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"error\":\"Too many requests, retry after " + retryAfter + " s\"}");
+        return false;
+    }
+
+    private record BucketKey(String client, String method, String route) {
+    }
+}
@@ -0,0 +1,45 @@
+package ru.practicum.shareit.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket in its GCRA form: the whole state is the theoretical arrival time of the next request,
+ * so a permit is taken with a single compare-and-set.
+ */
+class TokenBucket {
+    private final long emissionInterval;
+    private final long burstTolerance;
+    private final LongSupplier clock;
+    private final AtomicLong theoreticalArrival;
+
+    TokenBucket(long capacity, double perSecond) {
+        this(capacity, perSecond, System::nanoTime);
+    }
+
+    TokenBucket(long capacity, double perSecond, LongSupplier clock) {
+        this.clock = clock;
+        this.emissionInterval = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / perSecond));
+        this.burstTolerance = emissionInterval * Math.max(1, capacity);
+        this.theoreticalArrival = new AtomicLong(clock.getAsLong());
+    }
+
+    /**
+     * @return 0 if a permit was taken, otherwise nanoseconds until the next permit becomes available
+     */
+    long tryAcquire() {
+        while (true) {
+            long now = clock.getAsLong();
+            long current = theoreticalArrival.get();
+            long next = (current - now > 0 ? current : now) + emissionInterval;
+            long wait = next - now - burstTolerance;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -1,13 +1,14 @@
 package ru.practicum.shareit.request;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ServerTransportFactory;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import java.util.Map;
@@ -17,24 +18,23 @@ public class ItemRequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
-        );
+    public ItemRequestClient(ServerTransportFactory transportFactory, ResponseCache responseCache,
+                             RequestCoalescer requestCoalescer) {
+        super(API_PREFIX, transportFactory, responseCache, requestCoalescer);
     }
 
-    public ResponseEntity<Object> create(ItemRequestDto dto, Long userId) {
+    public Mono<ResponseEntity<Object>> create(ItemRequestDto dto, Long userId) {
         return post("", userId, dto);
     }
 
-    public ResponseEntity<Object> getRequestByOwner(Long userId) {
+    public Mono<ResponseEntity<Object>> getRequestByOwner(Long userId) {
         return get("", userId);
     }
 
-    public ResponseEntity<Object> getRequests(Long userId, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> getRequests(Long userId, @Nullable String cursor, Integer from, Integer size) {
+        if (cursor != null) {
+            return get("/all?cursor={cursor}&size={size}", userId, Map.of("cursor", cursor, "size", size));
+        }
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
@@ -42,7 +42,7 @@ public class ItemRequestClient extends BaseClient {
         return get("/all?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getRequestById(Long userId, Long requestId) {
-        return get("/" + requestId, userId);
+    public Mono<ResponseEntity<Object>> getRequestById(Long userId, Long requestId) {
+        return getCached("/" + requestId, userId);
     }
 }
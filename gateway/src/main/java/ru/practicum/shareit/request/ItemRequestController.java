@@ -10,6 +10,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 @Controller
@@ -22,25 +23,26 @@ public class ItemRequestController {
     private final ItemRequestClient itemRequestClient;
 
     @PostMapping
-    public ResponseEntity<Object> create(@RequestBody @Valid ItemRequestDto dto,
+    public Mono<ResponseEntity<Object>> create(@RequestBody @Valid ItemRequestDto dto,
                                          @RequestHeader("X-Sharer-User-Id") Long userId) {
         return itemRequestClient.create(dto, userId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getRequestByOwner(@RequestHeader("X-Sharer-User-Id") Long userId) {
+    public Mono<ResponseEntity<Object>> getRequestByOwner(@RequestHeader("X-Sharer-User-Id") Long userId) {
         return itemRequestClient.getRequestByOwner(userId);
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> getRequests(@RequestHeader("X-Sharer-User-Id") Long userId,
+    public Mono<ResponseEntity<Object>> getRequests(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                              @RequestParam(required = false) String cursor,
                                               @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
                                               @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
-        return itemRequestClient.getRequests(userId, from, size);
+        return itemRequestClient.getRequests(userId, cursor, from, size);
     }
 
     @GetMapping("/{requestId}")
-    public ResponseEntity<Object> getRequestById(@RequestHeader("X-Sharer-User-Id") Long userId,
+    public Mono<ResponseEntity<Object>> getRequestById(@RequestHeader("X-Sharer-User-Id") Long userId,
                                                  @PathVariable @NotNull Long requestId) {
         return itemRequestClient.getRequestById(userId, requestId);
     }
@@ -1,46 +1,51 @@
 package ru.practicum.shareit.user;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ServerTransportFactory;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import java.util.List;
+import java.util.Map;
+
 @Service
 public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
-        );
+    public UserClient(ServerTransportFactory transportFactory, ResponseCache responseCache,
+                      RequestCoalescer requestCoalescer) {
+        super(API_PREFIX, transportFactory, responseCache, requestCoalescer);
     }
 
-    public ResponseEntity<Object> findAll() {
+    public Mono<ResponseEntity<Object>> findAll() {
         return get("");
     }
 
-    public ResponseEntity<Object> findUser(Long userId) {
-        return get("/" + userId);
+    public Mono<ResponseEntity<Object>> findUser(Long userId, @Nullable String ifNoneMatch) {
+        return getCached("/" + userId, null, ifNoneMatch);
+    }
+
+    public Mono<ResponseEntity<Object>> findUsers(List<Long> ids) {
+        return get("?ids={ids}", null, Map.of("ids", StringUtils.collectionToCommaDelimitedString(ids)));
     }
 
-    public ResponseEntity<Object> createUser(UserDto user) {
+    public Mono<ResponseEntity<Object>> createUser(UserDto user) {
         return post("", user);
     }
 
-    public ResponseEntity<Object> updateUser(UserDto user, Long userId) {
+    public Mono<ResponseEntity<Object>> updateUser(UserDto user, Long userId) {
         return patch("/" + userId, userId, user);
     }
 
-    public ResponseEntity<Object> removeUser(Long userId) {
+    public Mono<ResponseEntity<Object>> removeUser(Long userId) {
         return delete("/" + userId);
     }
 }
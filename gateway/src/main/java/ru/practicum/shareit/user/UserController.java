@@ -1,14 +1,20 @@
 package ru.practicum.shareit.user;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import java.util.List;
+
 @Controller
 @RequestMapping(path = "/users")
 @RequiredArgsConstructor
@@ -18,27 +24,34 @@ public class UserController {
     private final UserClient userClient;
 
     @GetMapping
-    public ResponseEntity<Object> findAll() {
+    public Mono<ResponseEntity<Object>> findAll() {
         return userClient.findAll();
     }
 
+    @GetMapping(params = "ids")
+    public Mono<ResponseEntity<Object>> findUsers(@RequestParam @Size(max = 100) List<@Positive Long> ids) {
+        return userClient.findUsers(ids);
+    }
+
     @GetMapping("/{userId}")
-    public ResponseEntity<Object> findUser(@PathVariable Long userId) {
-        return userClient.findUser(userId);
+    public Mono<ResponseEntity<Object>> findUser(@PathVariable Long userId,
+                                                 @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+                                                 String ifNoneMatch) {
+        return userClient.findUser(userId, ifNoneMatch);
     }
 
     @PostMapping
-    public ResponseEntity<Object> createUser(@RequestBody @Valid UserDto user) {
+    public Mono<ResponseEntity<Object>> createUser(@RequestBody @Valid UserDto user) {
         return userClient.createUser(user);
     }
 
     @PatchMapping("/{userId}")
-    public ResponseEntity<Object> updateUser(@RequestBody UserDto user, @PathVariable Long userId) {
+    public Mono<ResponseEntity<Object>> updateUser(@RequestBody UserDto user, @PathVariable Long userId) {
         return userClient.updateUser(user, userId);
     }
 
     @DeleteMapping("/{userId}")
-    public ResponseEntity<Object> removeUser(@PathVariable Long userId) {
+    public Mono<ResponseEntity<Object>> removeUser(@PathVariable Long userId) {
         return userClient.removeUser(userId);
     }
 }
@@ -0,0 +1,85 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimiterTest {
+    private final AtomicLong now = new AtomicLong();
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        ResilienceProperties.Limiter properties = new ResilienceProperties.Limiter();
+        properties.setInitialLimit(10);
+        properties.setMinLimit(2);
+        properties.setMaxLimit(11);
+        properties.setBackoffRatio(0.5);
+        properties.setRttTolerance(2.0);
+        limiter = new AdaptiveConcurrencyLimiter(properties, now::get);
+    }
+
+    @Test
+    void onSuccess_shouldIncreaseLimitUpToMax_whenRttStaysNearMinimumAndLimitIsUsed() {
+        limiter.onSuccess(100, 10);
+        assertEquals(11, limiter.limit());
+
+        limiter.onSuccess(100, 11);
+        assertEquals(11, limiter.limit());
+    }
+
+    @Test
+    void onSuccess_shouldKeepLimit_whenFewCallsAreInFlight() {
+        limiter.onSuccess(100, 2);
+
+        assertEquals(10, limiter.limit());
+    }
+
+    @Test
+    void onSuccess_shouldDecreaseLimitOncePerRttWindow_whenSmoothedRttExceedsTolerance() {
+        limiter.onSuccess(100, 1);
+        for (int i = 0; i < 50; i++) {
+            limiter.onSuccess(10_000, 10);
+        }
+        assertEquals(5, limiter.limit());
+
+        now.addAndGet(10_000);
+        limiter.onSuccess(10_000, 10);
+        assertEquals(2.5, limiter.limit());
+
+        now.addAndGet(10_000);
+        limiter.onSuccess(10_000, 10);
+        assertEquals(2, limiter.limit());
+    }
+
+    @Test
+    void onDropped_shouldDecreaseLimitOncePerRttWindow() {
+        limiter.onSuccess(1_000, 1);
+
+        limiter.onDropped();
+        limiter.onDropped();
+        assertEquals(5, limiter.limit());
+
+        now.addAndGet(1_000);
+        limiter.onDropped();
+        assertEquals(2.5, limiter.limit());
+    }
+
+    @Test
+    void tryAcquire_shouldRejectAtLimitUntilPermitIsReleased() {
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+        assertFalse(limiter.tryAcquire());
+        assertEquals(10, limiter.inFlight());
+
+        limiter.release();
+
+        assertTrue(limiter.tryAcquire());
+    }
+}
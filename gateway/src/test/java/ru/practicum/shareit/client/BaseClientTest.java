@@ -0,0 +1,80 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BaseClientTest {
+    @Mock
+    private ServerTransportFactory transportFactory;
+    @Mock
+    private ServerTransport transport;
+
+    private BaseClient client;
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        when(transportFactory.create("/items")).thenReturn(transport);
+        client = new BaseClient("/items", transportFactory,
+                new ResponseCache(100, Duration.ofMinutes(1), registry, "test"), new RequestCoalescer(true, registry));
+    }
+
+    @Test
+    void getCached_shouldReloadAfterWriteResponseNamesPathInInvalidateHeader() {
+        when(transport.exchange(eq(HttpMethod.GET), eq("/1"), eq(1L), any(), any(), any()))
+                .thenReturn(Mono.just(ResponseEntity.ok().body(bytes("old"))))
+                .thenReturn(Mono.just(ResponseEntity.ok().body(bytes("new"))));
+        when(transport.exchange(eq(HttpMethod.PATCH), eq("/1"), eq(1L), any(), any(), any()))
+                .thenReturn(Mono.just(ResponseEntity.ok().header("X-ShareIt-Invalidate", "/users/1, /items/1")
+                        .body(bytes("new"))));
+
+        assertEquals("old", body(client.getCached("/1", 1L).block()));
+        assertEquals("old", body(client.getCached("/1", 1L).block()));
+
+        client.patch("/1", 1L, Map.of("name", "new")).block();
+
+        assertEquals("new", body(client.getCached("/1", 1L).block()));
+        verify(transport, times(2)).exchange(eq(HttpMethod.GET), eq("/1"), eq(1L), any(), any(), any());
+    }
+
+    @Test
+    void getCached_shouldKeepEntry_whenWriteResponseHasNoInvalidateHeader() {
+        when(transport.exchange(eq(HttpMethod.GET), eq("/1"), eq(1L), any(), any(), any()))
+                .thenReturn(Mono.just(ResponseEntity.ok().body(bytes("old"))));
+        when(transport.exchange(eq(HttpMethod.PATCH), eq("/1"), eq(1L), any(), any(), any()))
+                .thenReturn(Mono.just(ResponseEntity.ok().body(bytes("new"))));
+
+        client.getCached("/1", 1L).block();
+        client.patch("/1", 1L, Map.of("name", "new")).block();
+
+        assertEquals("old", body(client.getCached("/1", 1L).block()));
+        verify(transport, times(1)).exchange(eq(HttpMethod.GET), eq("/1"), eq(1L), any(), any(), any());
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String body(ResponseEntity<Object> response) {
+        return new String((byte[]) response.getBody(), StandardCharsets.UTF_8);
+    }
+}
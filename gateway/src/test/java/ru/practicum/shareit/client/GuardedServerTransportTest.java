@@ -0,0 +1,118 @@
+package ru.practicum.shareit.client;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GuardedServerTransportTest {
+    @Mock
+    private ServerTransport delegate;
+
+    private AdaptiveConcurrencyLimiter limiter;
+    private CircuitBreaker circuitBreaker;
+    private Counter limitRejections;
+    private Counter circuitRejections;
+    private GuardedServerTransport transport;
+
+    @BeforeEach
+    void setUp() {
+        ResilienceProperties.Limiter properties = new ResilienceProperties.Limiter();
+        properties.setInitialLimit(1);
+        properties.setMinLimit(1);
+        limiter = new AdaptiveConcurrencyLimiter(properties);
+        circuitBreaker = CircuitBreaker.ofDefaults("items");
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        limitRejections = registry.counter("rejected", "reason", "limit");
+        circuitRejections = registry.counter("rejected", "reason", "circuit-open");
+        transport = new GuardedServerTransport(delegate, limiter, circuitBreaker, limitRejections, circuitRejections);
+    }
+
+    @Test
+    void exchange_shouldReturn503WithoutCallingServer_whenConcurrencyLimitIsReached() {
+        when(delegate.exchange(eq(HttpMethod.GET), eq("/1"), any(), any(), any(), any())).thenReturn(Mono.never());
+        Disposable pending = get().subscribe();
+
+        ResponseEntity<byte[]> response = get().block();
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertTrue(new String(response.getBody(), StandardCharsets.UTF_8).contains("overloaded"));
+        assertEquals(1, limitRejections.count());
+        verify(delegate, times(1)).exchange(any(), any(), any(), any(), any(), any());
+        pending.dispose();
+    }
+
+    @Test
+    void exchange_shouldReleasePermit_whenSubscriptionIsCancelled() {
+        when(delegate.exchange(any(), any(), any(), any(), any(), any())).thenReturn(Mono.never());
+
+        Disposable pending = get().subscribe();
+        assertEquals(1, limiter.inFlight());
+
+        pending.dispose();
+
+        assertEquals(0, limiter.inFlight());
+    }
+
+    @Test
+    void exchange_shouldReleasePermitAndPassResponse_whenServerAnswers() {
+        when(delegate.exchange(any(), any(), any(), any(), any(), any()))
+                .thenReturn(Mono.just(ResponseEntity.ok(new byte[0])));
+
+        assertEquals(HttpStatus.OK, get().block().getStatusCode());
+        assertEquals(HttpStatus.OK, get().block().getStatusCode());
+
+        assertEquals(0, limiter.inFlight());
+        assertEquals(0, limitRejections.count());
+    }
+
+    @Test
+    void exchange_shouldReturn503AndReleasePermit_whenCircuitIsOpen() {
+        when(delegate.exchange(any(), any(), any(), any(), any(), any()))
+                .thenReturn(Mono.just(ResponseEntity.ok(new byte[0])));
+        circuitBreaker.transitionToOpenState();
+
+        ResponseEntity<byte[]> response = get().block();
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertTrue(new String(response.getBody(), StandardCharsets.UTF_8).contains("unavailable"));
+        assertEquals(1, circuitRejections.count());
+        assertEquals(0, limiter.inFlight());
+    }
+
+    @Test
+    void exchange_shouldReleasePermit_whenServerFails() {
+        when(delegate.exchange(any(), any(), any(), any(), any(), any()))
+                .thenReturn(Mono.just(ResponseEntity.internalServerError().body(new byte[0])))
+                .thenReturn(Mono.error(new IllegalStateException("connection reset")));
+
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, get().block().getStatusCode());
+        assertThrows(IllegalStateException.class, () -> get().block());
+        assertEquals(0, limiter.inFlight());
+    }
+
+    private Mono<ResponseEntity<byte[]>> get() {
+        return transport.exchange(HttpMethod.GET, "/1", 1L, null, null, null);
+    }
+}
@@ -0,0 +1,147 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RequestCoalescerTest {
+    private static final int CALLERS = 8;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private Sinks.One<ResponseEntity<byte[]>> upstream;
+    private RequestCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        upstream = Sinks.one();
+        coalescer = new RequestCoalescer(true, registry);
+    }
+
+    @Test
+    void coalesce_shouldShareOneUpstreamCall_whenIdenticalGetsRunConcurrently() throws Exception {
+        List<Thread> threads = new CopyOnWriteArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS, task -> {
+            Thread thread = new Thread(task);
+            threads.add(thread);
+            return thread;
+        });
+        try {
+            List<CompletableFuture<ResponseEntity<byte[]>>> responses = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                responses.add(CompletableFuture.supplyAsync(() -> get(1L).block(), executor));
+            }
+            awaitBlocked(threads);
+
+            ResponseEntity<byte[]> response = ResponseEntity.ok("{}".getBytes());
+            upstream.tryEmitValue(response);
+
+            for (CompletableFuture<ResponseEntity<byte[]>> future : responses) {
+                assertSame(response, future.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, upstreamCalls.get());
+        assertEquals(CALLERS - 1, requests("coalesced"));
+    }
+
+    @Test
+    void coalesce_shouldPassErrorToEveryWaiter() {
+        List<Throwable> errors = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            get(1L).subscribe(response -> { }, errors::add);
+        }
+
+        IllegalStateException failure = new IllegalStateException("connection reset");
+        upstream.tryEmitError(failure);
+
+        assertEquals(CALLERS, errors.size());
+        errors.forEach(error -> assertSame(failure, error));
+        assertEquals(1, upstreamCalls.get());
+    }
+
+    @Test
+    void coalesce_shouldCallUpstreamAgain_whenPreviousCallCompleted() {
+        upstream.tryEmitError(new IllegalStateException("connection reset"));
+        assertThrows(IllegalStateException.class, () -> get(1L).block());
+
+        upstream = Sinks.one();
+        upstream.tryEmitValue(ResponseEntity.ok(new byte[0]));
+        get(1L).block();
+
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    void coalesce_shouldNotShareCalls_whenUsersOrHeadersDiffer() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch("\"1\"");
+
+        get(1L).subscribe();
+        get(2L).subscribe();
+        coalescer.coalesce("/items", "/1", 1L, Map.of(), headers, upstreamCall()).subscribe();
+
+        assertEquals(3, upstreamCalls.get());
+    }
+
+    @Test
+    void coalesce_shouldCallUpstreamEveryTime_whenDisabled() {
+        coalescer = new RequestCoalescer(false, registry);
+
+        get(1L).subscribe();
+        get(1L).subscribe();
+
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    private Mono<ResponseEntity<byte[]>> get(Long userId) {
+        return coalescer.coalesce("/items", "/1", userId, Map.of(), null, upstreamCall());
+    }
+
+    private Supplier<Mono<ResponseEntity<byte[]>>> upstreamCall() {
+        return () -> {
+            Sinks.One<ResponseEntity<byte[]>> sink = upstream;
+            return Mono.defer(() -> {
+                upstreamCalls.incrementAndGet();
+                return sink.asMono();
+            });
+        };
+    }
+
+    /**
+     * Waits until every caller thread is parked in block() on the shared response.
+     */
+    private static void awaitBlocked(List<Thread> threads) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while ((threads.size() < CALLERS || threads.stream().anyMatch(thread -> thread.getState() != Thread.State.WAITING))
+                && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+
+    private long requests(String result) {
+        return (long) registry.find("gateway.coalescing.requests").tag("result", result).counters().stream()
+                .mapToDouble(counter -> counter.count())
+                .sum();
+    }
+}
@@ -0,0 +1,117 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ResponseCacheTest {
+    private final ResponseCache cache = new ResponseCache(100, Duration.ofMinutes(1), new SimpleMeterRegistry(), "test");
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void get_shouldKeepSeparateEntriesPerUser() {
+        assertEquals("1", get("/items/1", 1L).getBody());
+        assertEquals("2", get("/items/1", 2L).getBody());
+        assertEquals("1", get("/items/1", 1L).getBody());
+        assertEquals("2", get("/items/1", 2L).getBody());
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_shouldNotStoreNon2xxResponses() {
+        Supplier<Mono<ResponseEntity<Object>>> notFound = () -> {
+            loads.incrementAndGet();
+            return Mono.just(ResponseEntity.status(HttpStatus.NOT_FOUND).body("missing"));
+        };
+
+        cache.get("/items/1", 1L, null, notFound).block();
+        ResponseEntity<Object> response = cache.get("/items/1", 1L, null, notFound).block();
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void evict_shouldRemovePathForEveryUserAndItsQueryVariants() {
+        get("/items/1", 1L);
+        get("/items/1", 2L);
+        get("/items/1?from=0", 1L);
+        get("/items/2", 1L);
+
+        cache.evict(List.of("/items/1"));
+        get("/items/1", 1L);
+        get("/items/1", 2L);
+        get("/items/1?from=0", 1L);
+        get("/items/2", 1L);
+
+        assertEquals(7, loads.get());
+    }
+
+    @Test
+    void evict_shouldIgnoreEmptyPaths() {
+        get("/items/1", 1L);
+
+        cache.evict(null);
+        cache.evict(List.of());
+        get("/items/1", 1L);
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void get_shouldReturn304_whenIfNoneMatchMatchesCachedTag() {
+        get("/items/1", 1L);
+
+        assertNotModified(cache.get("/items/1", 1L, "\"v1\"", this::load).block());
+        assertNotModified(cache.get("/items/1", 1L, "W/\"v1\"", this::load).block());
+        assertNotModified(cache.get("/items/1", 1L, "\"v0\", W/\"v1\"", this::load).block());
+        assertNotModified(cache.get("/items/1", 1L, "*", this::load).block());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void get_shouldReturn304_whenIfNoneMatchMatchesFreshlyLoadedTag() {
+        assertNotModified(cache.get("/items/1", 1L, "\"v1\"", this::load).block());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void get_shouldReturn200_whenIfNoneMatchDiffers() {
+        get("/items/1", 1L);
+
+        ResponseEntity<Object> response = cache.get("/items/1", 1L, "\"v0\"", this::load).block();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("1", response.getBody());
+        assertEquals("\"v1\"", response.getHeaders().getETag());
+    }
+
+    private ResponseEntity<Object> get(String path, Long userId) {
+        return cache.get(path, userId, null, () -> {
+            loads.incrementAndGet();
+            return Mono.just(ResponseEntity.ok().eTag("\"v1\"").body(String.valueOf(userId)));
+        }).block();
+    }
+
+    private Mono<ResponseEntity<Object>> load() {
+        loads.incrementAndGet();
+        return Mono.just(ResponseEntity.ok().eTag("\"v1\"").body("1"));
+    }
+
+    private static void assertNotModified(ResponseEntity<Object> response) {
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals("\"v1\"", response.getHeaders().getETag());
+        assertNull(response.getBody());
+    }
+}
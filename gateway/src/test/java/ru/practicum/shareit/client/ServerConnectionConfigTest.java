@@ -0,0 +1,46 @@
+package ru.practicum.shareit.client;
+
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.Test;
+import reactor.netty.resources.ConnectionProvider;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ServerConnectionConfigTest {
+    private final ServerConnectionConfig config = new ServerConnectionConfig();
+
+    @Test
+    void pools_shouldAllowSameConnectionsToServer_whenTotalIsBelowPerRoute() {
+        ServerConnectionProperties properties = new ServerConnectionProperties();
+        properties.setMaxTotal(10);
+        properties.setMaxPerRoute(50);
+
+        assertEquals(10, reactorLimit(properties));
+        assertEquals(10, httpClientLimit(properties));
+    }
+
+    @Test
+    void pools_shouldAllowSameConnectionsToServer_whenPerRouteIsBelowTotal() {
+        ServerConnectionProperties properties = new ServerConnectionProperties();
+        properties.setMaxTotal(100);
+        properties.setMaxPerRoute(20);
+
+        assertEquals(20, reactorLimit(properties));
+        assertEquals(20, httpClientLimit(properties));
+    }
+
+    private int reactorLimit(ServerConnectionProperties properties) {
+        ConnectionProvider provider = config.serverConnectionProvider(properties);
+        try {
+            return provider.maxConnections();
+        } finally {
+            provider.dispose();
+        }
+    }
+
+    private int httpClientLimit(ServerConnectionProperties properties) {
+        try (PoolingHttpClientConnectionManager manager = config.serverConnectionManager(properties)) {
+            return Math.min(manager.getMaxTotal(), manager.getDefaultMaxPerRoute());
+        }
+    }
+}
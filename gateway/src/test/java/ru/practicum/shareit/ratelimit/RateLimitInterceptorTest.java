@@ -0,0 +1,74 @@
+package ru.practicum.shareit.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimitInterceptorTest {
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private RateLimitProperties properties;
+    private RateLimitInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties.Budget search = new RateLimitProperties.Budget();
+        search.setCapacity(1);
+        search.setPerSecond(0.25);
+        properties = new RateLimitProperties();
+        properties.setRoutes(Map.of("/items/search", search));
+        interceptor = new RateLimitInterceptor(properties, registry);
+    }
+
+    @Test
+    void preHandle_shouldReject429WithRetryAfterInWholeSeconds_whenBudgetIsSpent() throws Exception {
+        assertTrue(interceptor.preHandle(request("/items/search", "1"), new MockHttpServletResponse(), new Object()));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertFalse(interceptor.preHandle(request("/items/search", "1"), response, new Object()));
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), response.getStatus());
+        assertEquals("4", response.getHeader(HttpHeaders.RETRY_AFTER));
+        assertEquals("{\"error\":\"Too many requests, retry after 4 s\"}", response.getContentAsString());
+        assertEquals(1, registry.get("gateway.ratelimit.rejected").tag("route", "/items/search").counter().count());
+    }
+
+    @Test
+    void preHandle_shouldKeepSeparateBudgets_forUsersAndRoutes() throws Exception {
+        assertTrue(interceptor.preHandle(request("/items/search", "1"), new MockHttpServletResponse(), new Object()));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertTrue(interceptor.preHandle(request("/items/search", "2"), response, new Object()));
+        assertTrue(interceptor.preHandle(request("/items/{itemId}", "1"), response, new Object()));
+
+        assertEquals(HttpStatus.OK.value(), response.getStatus());
+        assertNull(response.getHeader(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void preHandle_shouldPassEverything_whenDisabled() throws Exception {
+        properties.setEnabled(false);
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(interceptor.preHandle(request("/items/search", "1"), new MockHttpServletResponse(), new Object()));
+        }
+    }
+
+    private static MockHttpServletRequest request(String route, String userId) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", route);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, route);
+        request.addHeader("X-Sharer-User-Id", userId);
+        return request;
+    }
+}
@@ -0,0 +1,67 @@
+package ru.practicum.shareit.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TokenBucketTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong now = new AtomicLong(1_000 * SECOND);
+
+    @Test
+    void tryAcquire_shouldAllowBurstUpToCapacityThenReportWait() {
+        TokenBucket bucket = new TokenBucket(3, 2, now::get);
+
+        assertEquals(0, bucket.tryAcquire());
+        assertEquals(0, bucket.tryAcquire());
+        assertEquals(0, bucket.tryAcquire());
+        assertEquals(SECOND / 2, bucket.tryAcquire());
+
+        now.addAndGet(SECOND / 5);
+        assertEquals(SECOND * 3 / 10, bucket.tryAcquire());
+    }
+
+    @Test
+    void tryAcquire_shouldRefillOnePermitPerEmissionInterval() {
+        TokenBucket bucket = new TokenBucket(2, 2, now::get);
+        bucket.tryAcquire();
+        bucket.tryAcquire();
+
+        now.addAndGet(SECOND / 2);
+        assertEquals(0, bucket.tryAcquire());
+        assertEquals(SECOND / 2, bucket.tryAcquire());
+
+        now.addAndGet(SECOND);
+        assertEquals(0, bucket.tryAcquire());
+        assertEquals(0, bucket.tryAcquire());
+        assertEquals(SECOND / 2, bucket.tryAcquire());
+    }
+
+    @Test
+    void tryAcquire_shouldNotSaveUpMoreThanCapacity_whenIdle() {
+        TokenBucket bucket = new TokenBucket(2, 2, now::get);
+
+        now.addAndGet(60 * SECOND);
+
+        assertEquals(0, bucket.tryAcquire());
+        assertEquals(0, bucket.tryAcquire());
+        assertEquals(SECOND / 2, bucket.tryAcquire());
+    }
+
+    @Test
+    void tryAcquire_shouldNotConsumePermit_whenRejected() {
+        TokenBucket bucket = new TokenBucket(1, 1, now::get);
+        bucket.tryAcquire();
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(SECOND, bucket.tryAcquire());
+        }
+        now.addAndGet(SECOND);
+
+        assertEquals(0, bucket.tryAcquire());
+    }
+}
@@ -3,7 +3,10 @@ package ru.practicum.shareit.booking;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
 import lombok.AllArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import ru.practicum.shareit.booking.dto.BookingCountDto;
 import ru.practicum.shareit.booking.dto.BookingDtoIn;
 import ru.practicum.shareit.booking.dto.BookingDtoOut;
 import ru.practicum.shareit.booking.service.BookingService;
@@ -31,21 +34,47 @@ public class BookingController {
 
     @GetMapping("/{bookingId}")
     public BookingDtoOut getBookingByUserId(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                            @PathVariable Long bookingId) {
+                                            @PathVariable Long bookingId,
+                                            WebRequest request) {
+        if (request.checkNotModified(bookingService.bookingEtag(bookingId, userId))) {
+            return null;
+        }
         return bookingService.findById(bookingId, userId);
     }
 
+    @GetMapping(params = "ids")
+    public List<BookingDtoOut> getBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                           @RequestParam List<Long> ids) {
+        return bookingService.findByIds(ids, userId);
+    }
+
     @GetMapping
-    public List<BookingDtoOut> getAllBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                              @RequestParam(defaultValue = "ALL") String state,
-                                              @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-                                              @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
-        return bookingService.findAll(userId, state, from, size);
+    public ResponseEntity<List<BookingDtoOut>> getAllBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                              @RequestParam(defaultValue = "ALL") String state,
+                                                              @RequestParam(required = false) String cursor,
+                                                              @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                                              @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+        if (cursor != null) {
+            return bookingService.findAllByCursor(userId, state, cursor, size).toResponse();
+        }
+        return ResponseEntity.ok(bookingService.findAll(userId, state, from, size));
+    }
+
+    @GetMapping("/count")
+    public BookingCountDto countBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                        @RequestParam(defaultValue = "ALL") String state) {
+        return bookingService.count(userId, state);
     }
 
     @GetMapping("/owner")
-    public List<BookingDtoOut> getAllBookingByItemOwner(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                        @RequestParam(defaultValue = "ALL") String state) {
-        return bookingService.findAllByItemOwner(userId, state);
+    public ResponseEntity<List<BookingDtoOut>> getAllBookingByItemOwner(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                        @RequestParam(defaultValue = "ALL") String state,
+                                                                        @RequestParam(required = false) String cursor,
+                                                                        @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                                                        @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+        if (cursor != null) {
+            return bookingService.findAllByItemOwnerByCursor(userId, state, cursor, size).toResponse();
+        }
+        return ResponseEntity.ok(bookingService.findAllByItemOwner(userId, state, from, size));
     }
 }
@@ -0,0 +1,179 @@
+package ru.practicum.shareit.booking.availability;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.availability.IntervalTree.Interval;
+import ru.practicum.shareit.booking.emun.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingPeriod;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.ConflictException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.UnaryOperator;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookingAvailabilityIndex {
+    static final Set<BookingStatus> ACTIVE_STATUSES = EnumSet.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+
+    private static final int STRIPES = 64;
+
+    private final BookingRepository bookingRepository;
+    private final Map<Long, IntervalTree> timelines = new ConcurrentHashMap<>();
+    private final ReentrantLock[] stripes = newStripes();
+    private final AtomicLong provisionalIds = new AtomicLong();
+
+    public Booking reserve(Booking booking, UnaryOperator<Booking> save) {
+        Long itemId = booking.getItem().getId();
+        Interval provisional = new Interval(provisionalIds.decrementAndGet(), booking.getStart(), booking.getEnd());
+        ReentrantLock lock = stripe(itemId);
+
+        lock.lock();
+        try {
+            IntervalTree tree = timeline(itemId);
+            Interval conflict = tree.findOverlap(booking.getStart(), booking.getEnd());
+            if (conflict != null) {
+                log.warn("Бронирование предмета {} пересекается с бронированием {}", itemId, conflict.id());
+                throw new ConflictException("Предмет с Id " + itemId + " уже забронирован на период с " +
+                        conflict.start() + " по " + conflict.end());
+            }
+            tree.insert(provisional);
+            timelines.put(itemId, tree);
+        } finally {
+            lock.unlock();
+        }
+
+        Booking saved;
+        try {
+            saved = save.apply(booking);
+        } catch (RuntimeException e) {
+            remove(itemId, provisional.id());
+            throw e;
+        }
+        replace(itemId, provisional, new Interval(saved.getId(), saved.getStart(), saved.getEnd()));
+        return saved;
+    }
+
+    public List<TimeSlot> freeSlots(Long itemId, LocalDateTime from, LocalDateTime to) {
+        List<TimeSlot> free = new ArrayList<>();
+        LocalDateTime[] cursor = {from};
+        ReentrantLock lock = stripe(itemId);
+
+        lock.lock();
+        try {
+            timeline(itemId).forEachOverlap(from, to, interval -> {
+                if (interval.start().isAfter(cursor[0])) {
+                    free.add(new TimeSlot(cursor[0], interval.start()));
+                }
+                if (interval.end().isAfter(cursor[0])) {
+                    cursor[0] = interval.end();
+                }
+            });
+        } finally {
+            lock.unlock();
+        }
+
+        if (cursor[0].isBefore(to)) {
+            free.add(new TimeSlot(cursor[0], to));
+        }
+        return free;
+    }
+
+    /**
+     * Внутри транзакции период освобождается только после её фиксации: при откате бронирование
+     * в базе остаётся активным, и индекс не должен показывать его период свободным.
+     */
+    public void release(Booking booking) {
+        Long itemId = booking.getItem().getId();
+        Long bookingId = booking.getId();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            remove(itemId, bookingId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                remove(itemId, bookingId);
+            }
+        });
+    }
+
+    /**
+     * Все изменения таймлайна предмета выполняются под блокировкой его полосы,
+     * поэтому таймлайн можно загрузить или выбросить из карты без гонки с другими потоками.
+     * Пустой таймлайн в карте не остаётся: иначе каждый запрос свободных периодов оставлял бы по дереву навсегда.
+     */
+    private IntervalTree timeline(Long itemId) {
+        LocalDateTime now = LocalDateTime.now();
+        IntervalTree tree = timelines.get(itemId);
+        if (tree == null) {
+            tree = new IntervalTree();
+            for (BookingPeriod period : bookingRepository.findPeriodsByItemId(itemId, now, ACTIVE_STATUSES)) {
+                tree.insert(new Interval(period.id(), period.start(), period.end()));
+            }
+            log.debug("Загружено {} активных бронирований предмета {}", tree.size(), itemId);
+        }
+        Interval first = tree.first();
+        while (first != null && !first.end().isAfter(now)) {
+            tree.remove(first.id());
+            first = tree.first();
+        }
+        if (tree.size() == 0) {
+            timelines.remove(itemId);
+        } else {
+            timelines.put(itemId, tree);
+        }
+        return tree;
+    }
+
+    private void replace(Long itemId, Interval provisional, Interval interval) {
+        ReentrantLock lock = stripe(itemId);
+        lock.lock();
+        try {
+            IntervalTree tree = timelines.get(itemId);
+            if (tree != null && tree.remove(provisional.id())) {
+                tree.insert(interval);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void remove(Long itemId, long bookingId) {
+        ReentrantLock lock = stripe(itemId);
+        lock.lock();
+        try {
+            IntervalTree tree = timelines.get(itemId);
+            if (tree != null && tree.remove(bookingId) && tree.size() == 0) {
+                timelines.remove(itemId);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ReentrantLock stripe(Long itemId) {
+        return stripes[Long.hashCode(itemId) & (STRIPES - 1)];
+    }
+
+    private static ReentrantLock[] newStripes() {
+        ReentrantLock[] locks = new ReentrantLock[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        return locks;
+    }
+}
@@ -0,0 +1,50 @@
+package ru.practicum.shareit.booking.availability;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@DependsOn("entityManagerFactory")
+public class BookingOverlapConstraint {
+    static final String NAME = "bookings_no_overlap";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public static boolean isViolatedBy(DataIntegrityViolationException e) {
+        String message = e.getMostSpecificCause().getMessage();
+        return message != null && message.contains(NAME);
+    }
+
+    @PostConstruct
+    void install() {
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equals(database)) {
+            log.info("Ограничение {} не создаётся для {}", NAME, database);
+            return;
+        }
+        Integer existing = jdbcTemplate.queryForObject("select count(*) from pg_constraint where conname = ?",
+                Integer.class, NAME);
+        if (existing != null && existing > 0) {
+            return;
+        }
+        try {
+            jdbcTemplate.execute("create extension if not exists btree_gist");
+            jdbcTemplate.execute("alter table bookings add constraint " + NAME + " exclude using gist " +
+                    "(item_id with =, tsrange(start_date, end_date) with &&) " +
+                    "where (status in ('WAITING', 'APPROVED'))");
+            log.info("Создано ограничение {} на пересечение бронирований", NAME);
+        } catch (DataAccessException e) {
+            log.warn("Не удалось создать ограничение {}: {}", NAME, e.getMostSpecificCause().getMessage());
+        }
+    }
+}
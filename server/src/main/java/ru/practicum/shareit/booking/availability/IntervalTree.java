@@ -0,0 +1,199 @@
+package ru.practicum.shareit.booking.availability;
+
+import org.springframework.lang.Nullable;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * AVL-дерево полуоткрытых интервалов [start, end), упорядоченных по (start, id).
+ * Каждый узел хранит максимальный конец в своём поддереве, поэтому поиск пересечения — O(log n).
+ * Интервал удаляется по id: границы, перечитанные из базы, могут отличаться точностью от вставленных.
+ */
+final class IntervalTree {
+    private static final Comparator<Interval> ORDER = Comparator.comparing(Interval::start)
+            .thenComparingLong(Interval::id);
+
+    private final Map<Long, Interval> intervals = new HashMap<>();
+    @Nullable
+    private Node root;
+
+    int size() {
+        return intervals.size();
+    }
+
+    void insert(Interval interval) {
+        Interval previous = intervals.put(interval.id(), interval);
+        if (previous != null) {
+            root = remove(root, previous);
+        }
+        root = insert(root, interval);
+    }
+
+    boolean remove(long id) {
+        Interval interval = intervals.remove(id);
+        if (interval == null) {
+            return false;
+        }
+        root = remove(root, interval);
+        return true;
+    }
+
+    @Nullable
+    Interval first() {
+        Node node = root;
+        if (node == null) {
+            return null;
+        }
+        while (node.left != null) {
+            node = node.left;
+        }
+        return node.interval;
+    }
+
+    @Nullable
+    Interval findOverlap(LocalDateTime from, LocalDateTime to) {
+        Node node = root;
+        while (node != null) {
+            if (node.interval.overlaps(from, to)) {
+                return node.interval;
+            }
+            node = node.left != null && node.left.maxEnd.isAfter(from) ? node.left : node.right;
+        }
+        return null;
+    }
+
+    void forEachOverlap(LocalDateTime from, LocalDateTime to, Consumer<Interval> action) {
+        forEachOverlap(root, from, to, action);
+    }
+
+    private static void forEachOverlap(@Nullable Node node, LocalDateTime from, LocalDateTime to,
+                                       Consumer<Interval> action) {
+        if (node == null || !node.maxEnd.isAfter(from)) {
+            return;
+        }
+        forEachOverlap(node.left, from, to, action);
+        if (!node.interval.start().isBefore(to)) {
+            return;
+        }
+        if (node.interval.end().isAfter(from)) {
+            action.accept(node.interval);
+        }
+        forEachOverlap(node.right, from, to, action);
+    }
+
+    private Node insert(@Nullable Node node, Interval interval) {
+        if (node == null) {
+            return new Node(interval);
+        }
+        if (ORDER.compare(interval, node.interval) < 0) {
+            node.left = insert(node.left, interval);
+        } else {
+            node.right = insert(node.right, interval);
+        }
+        return balance(node);
+    }
+
+    @Nullable
+    private Node remove(@Nullable Node node, Interval interval) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = ORDER.compare(interval, node.interval);
+        if (cmp < 0) {
+            node.left = remove(node.left, interval);
+        } else if (cmp > 0) {
+            node.right = remove(node.right, interval);
+        } else {
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            Node successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            node.interval = successor.interval;
+            node.right = remove(node.right, successor.interval);
+        }
+        return balance(node);
+    }
+
+    private static Node balance(Node node) {
+        update(node);
+        int factor = height(node.left) - height(node.right);
+        if (factor > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (factor < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static void update(Node node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        LocalDateTime maxEnd = node.interval.end();
+        if (node.left != null && node.left.maxEnd.isAfter(maxEnd)) {
+            maxEnd = node.left.maxEnd;
+        }
+        if (node.right != null && node.right.maxEnd.isAfter(maxEnd)) {
+            maxEnd = node.right.maxEnd;
+        }
+        node.maxEnd = maxEnd;
+    }
+
+    private static int height(@Nullable Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    record Interval(long id, LocalDateTime start, LocalDateTime end) {
+        boolean overlaps(LocalDateTime from, LocalDateTime to) {
+            return start.isBefore(to) && end.isAfter(from);
+        }
+    }
+
+    private static final class Node {
+        Interval interval;
+        @Nullable
+        Node left;
+        @Nullable
+        Node right;
+        int height = 1;
+        LocalDateTime maxEnd;
+
+        Node(Interval interval) {
+            this.interval = interval;
+            this.maxEnd = interval.end();
+        }
+    }
+}
@@ -1,10 +0,0 @@
-package ru.practicum.shareit.booking.emun;
-
-public enum BookingState {
-    ALL,
-    CURRENT,
-    PAST,
-    FUTURE,
-    WAITING,
-    REJECTED
-}
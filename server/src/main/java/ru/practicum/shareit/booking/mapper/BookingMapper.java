@@ -5,6 +5,7 @@ import org.mapstruct.Mapping;
 import ru.practicum.shareit.booking.dto.BookingDtoIn;
 import ru.practicum.shareit.booking.dto.BookingDtoOut;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingView;
 
 import java.util.List;
 
@@ -15,6 +16,16 @@ public interface BookingMapper {
     BookingDtoOut mapToBookingDto(Booking booking);
 
     @Mapping(source = "itemId", target = "item.id")
+    @Mapping(source = "itemName", target = "item.name")
+    @Mapping(source = "itemDescription", target = "item.description")
+    @Mapping(source = "itemAvailable", target = "item.available")
+    @Mapping(source = "bookerId", target = "booker.id")
+    @Mapping(source = "bookerName", target = "booker.name")
+    @Mapping(source = "bookerEmail", target = "booker.email")
+    BookingDtoOut mapToBookingDto(BookingView bookingView);
+
+    @Mapping(source = "itemId", target = "item.id")
+    @Mapping(target = "version", ignore = true)
     Booking mapToBooking(BookingDtoIn bookingDtoIn);
 
     List<BookingDtoOut> mapToBookingDto(Iterable<Booking> bookings);
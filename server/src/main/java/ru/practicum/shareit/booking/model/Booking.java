@@ -12,7 +12,11 @@ import java.time.LocalDateTime;
 @Getter
 @Setter
 @Entity
-@Table(name = "Bookings")
+@Table(name = "Bookings", indexes = {
+        @Index(name = "bookings_item_end_idx", columnList = "item_id, end_date"),
+        @Index(name = "bookings_booker_start_idx", columnList = "user_id, start_date, id"),
+        @Index(name = "bookings_item_start_idx", columnList = "item_id, start_date, id")
+})
 @AllArgsConstructor
 @NoArgsConstructor
 public class Booking {
@@ -23,13 +27,16 @@ public class Booking {
     LocalDateTime start;
     @Column(name = "end_date")
     LocalDateTime end;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "item_id")
     Item item;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     User booker;
     @Enumerated(EnumType.STRING)
     @Column(name = "status")
     BookingStatus status;
+    @Version
+    @Column(name = "version")
+    Long version;
 }
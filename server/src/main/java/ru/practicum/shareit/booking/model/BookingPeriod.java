@@ -0,0 +1,6 @@
+package ru.practicum.shareit.booking.model;
+
+import java.time.LocalDateTime;
+
+public record BookingPeriod(Long id, LocalDateTime start, LocalDateTime end) {
+}
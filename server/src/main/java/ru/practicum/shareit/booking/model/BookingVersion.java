@@ -0,0 +1,4 @@
+package ru.practicum.shareit.booking.model;
+
+public record BookingVersion(Long version, Long itemVersion, Long bookerVersion) {
+}
@@ -0,0 +1,4 @@
+package ru.practicum.shareit.booking.model;
+
+public record ItemBookingCount(Long itemId, long count) {
+}
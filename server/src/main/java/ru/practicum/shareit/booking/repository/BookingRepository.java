@@ -1,38 +1,156 @@
 package ru.practicum.shareit.booking.repository;
 
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
-import ru.practicum.shareit.booking.emun.BookingState;
 import ru.practicum.shareit.booking.emun.BookingStatus;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingPeriod;
+import ru.practicum.shareit.booking.model.BookingVersion;
+import ru.practicum.shareit.booking.model.BookingView;
+import ru.practicum.shareit.booking.model.ItemBookingCount;
+import ru.practicum.shareit.booking.model.ItemBookingDates;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
-    Page<Booking> findAllByBookerIdAndEndAfterOrderByStartDesc(Long id, LocalDateTime time, Pageable page);
+    String BOOKING_VIEW = "select new ru.practicum.shareit.booking.model.BookingView(b.id, b.start, b.end, b.status, " +
+            "i.id, i.name, i.description, i.available, u.id, u.name, u.email) " +
+            "from Booking b join b.item i join b.booker u ";
 
-    Page<Booking> findAllByBookerIdAndEndBeforeOrderByStartDesc(Long id, LocalDateTime time, Pageable page);
+    @Override
+    @EntityGraph(attributePaths = {"item", "item.owner", "booker"})
+    Optional<Booking> findById(Long id);
 
-    Page<Booking> findAllByBookerIdAndStartBeforeOrderByStartDesc(Long id, LocalDateTime time, Pageable page);
+    @Query(BOOKING_VIEW + "where b.booker.id = ?1 and b.start < ?2 and b.end > ?3 order by b.start desc")
+    Slice<BookingView> findAllByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(Long id, LocalDateTime start,
+                                                                                LocalDateTime end, Pageable page);
 
-    Page<Booking> findAllByBookerIdAndStatusOrderByStartDesc(Long id, BookingStatus status, Pageable page);
+    @Query(BOOKING_VIEW + "where b.booker.id = ?1 and b.end < ?2 order by b.start desc")
+    Slice<BookingView> findAllByBookerIdAndEndBeforeOrderByStartDesc(Long id, LocalDateTime time, Pageable page);
 
-    Page<Booking> findAllByBookerId(Long id, Pageable page);
+    @Query(BOOKING_VIEW + "where b.booker.id = ?1 and b.start > ?2 order by b.start desc")
+    Slice<BookingView> findAllByBookerIdAndStartAfterOrderByStartDesc(Long id, LocalDateTime time, Pageable page);
 
-    List<Booking> findAllByItemIdInOrderByStartDesc(List<Long> ids);
+    @Query(BOOKING_VIEW + "where b.booker.id = ?1 and b.status = ?2 order by b.start desc")
+    Slice<BookingView> findAllByBookerIdAndStatusOrderByStartDesc(Long id, BookingStatus status, Pageable page);
 
-    List<Booking> findAllByItemOwnerIdOrderByStartDesc(Long id);
+    @Query(BOOKING_VIEW + "where b.booker.id = ?1")
+    Slice<BookingView> findAllByBookerId(Long id, Pageable page);
 
-    List<Booking> findAllByBookerIdAndItemIdAndEndBefore(Long userId, Long itemId, LocalDateTime end);
+    long countByBookerIdAndStartBeforeAndEndAfter(Long id, LocalDateTime start, LocalDateTime end);
+
+    long countByBookerIdAndEndBefore(Long id, LocalDateTime time);
+
+    long countByBookerIdAndStartAfter(Long id, LocalDateTime time);
+
+    long countByBookerIdAndStatus(Long id, BookingStatus status);
+
+    long countByBookerId(Long id);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<Booking> findByBookerIdOrderByStartDescIdDesc(Long id, ScrollPosition position, Limit limit);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<Booking> findByBookerIdAndStartBeforeAndEndAfterOrderByStartDescIdDesc(Long id, LocalDateTime start,
+                                                                                  LocalDateTime end,
+                                                                                  ScrollPosition position,
+                                                                                  Limit limit);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<Booking> findByBookerIdAndEndBeforeOrderByStartDescIdDesc(Long id, LocalDateTime time,
+                                                                     ScrollPosition position, Limit limit);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<Booking> findByBookerIdAndStartAfterOrderByStartDescIdDesc(Long id, LocalDateTime time,
+                                                                      ScrollPosition position, Limit limit);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<Booking> findByBookerIdAndStatusOrderByStartDescIdDesc(Long id, BookingStatus status,
+                                                                  ScrollPosition position, Limit limit);
+
+    @Query(BOOKING_VIEW + "where i.owner.id = ?1 order by b.start desc")
+    Slice<BookingView> findAllByItemOwnerIdOrderByStartDesc(Long id, Pageable page);
+
+    @Query(BOOKING_VIEW + "where i.owner.id = ?1 and b.start < ?2 and b.end > ?3 order by b.start desc")
+    Slice<BookingView> findAllByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDesc(Long id, LocalDateTime start,
+                                                                                   LocalDateTime end, Pageable page);
+
+    @Query(BOOKING_VIEW + "where i.owner.id = ?1 and b.end < ?2 order by b.start desc")
+    Slice<BookingView> findAllByItemOwnerIdAndEndBeforeOrderByStartDesc(Long id, LocalDateTime time, Pageable page);
+
+    @Query(BOOKING_VIEW + "where i.owner.id = ?1 and b.start > ?2 order by b.start desc")
+    Slice<BookingView> findAllByItemOwnerIdAndStartAfterOrderByStartDesc(Long id, LocalDateTime time, Pageable page);
 
-    List<Booking> findAllByItemOwnerIdAndStatusOrderByStartDesc(Long id, BookingState state);
+    @Query(BOOKING_VIEW + "where i.owner.id = ?1 and b.status = ?2 order by b.start desc")
+    Slice<BookingView> findAllByItemOwnerIdAndStatusOrderByStartDesc(Long id, BookingStatus status, Pageable page);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<Booking> findByItemOwnerIdOrderByStartDescIdDesc(Long id, ScrollPosition position, Limit limit);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<Booking> findByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDescIdDesc(Long id, LocalDateTime start,
+                                                                                     LocalDateTime end,
+                                                                                     ScrollPosition position,
+                                                                                     Limit limit);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<Booking> findByItemOwnerIdAndEndBeforeOrderByStartDescIdDesc(Long id, LocalDateTime time,
+                                                                        ScrollPosition position, Limit limit);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<Booking> findByItemOwnerIdAndStartAfterOrderByStartDescIdDesc(Long id, LocalDateTime time,
+                                                                         ScrollPosition position, Limit limit);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<Booking> findByItemOwnerIdAndStatusOrderByStartDescIdDesc(Long id, BookingStatus status,
+                                                                     ScrollPosition position, Limit limit);
+
+    List<Booking> findAllByBookerIdAndItemIdAndEndBefore(Long userId, Long itemId, LocalDateTime end);
 
     Optional<Booking> findFirstByItemIdAndEndBeforeAndStatusOrderByEndDesc(Long id, LocalDateTime end, BookingStatus status);
 
     Optional<Booking> findFirstByItemIdAndStartAfterOrderByStartAsc(Long itemId, LocalDateTime now);
+
+    @EntityGraph(attributePaths = {"item", "item.owner", "booker"})
+    List<Booking> findAllByIdIn(Collection<Long> ids);
+
+    @Query("select new ru.practicum.shareit.booking.model.BookingPeriod(b.id, b.start, b.end) " +
+            "from Booking b where b.item.id = ?1 and b.end > ?2 and b.status in ?3")
+    List<BookingPeriod> findPeriodsByItemId(Long itemId, LocalDateTime endAfter, Collection<BookingStatus> statuses);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update versioned Booking b set b.status = :status " +
+            "where b.id = :id and b.status = ru.practicum.shareit.booking.emun.BookingStatus.WAITING " +
+            "and b.item.id in (select i.id from Item i where i.owner.id = :ownerId)")
+    int updateStatusIfWaiting(@Param("id") Long id, @Param("ownerId") Long ownerId,
+                              @Param("status") BookingStatus status);
+
+    @Query("select new ru.practicum.shareit.booking.model.BookingVersion(b.version, b.item.version, b.booker.version) " +
+            "from Booking b where b.id = ?1")
+    Optional<BookingVersion> findVersionById(Long id);
+
+    @Query("select new ru.practicum.shareit.booking.model.ItemBookingDates(b.item.id, " +
+            "max(case when b.end < :now and b.status = :status then b.end end), " +
+            "min(case when b.start > :now then b.start end)) " +
+            "from Booking b where b.item.id in :itemIds group by b.item.id")
+    List<ItemBookingDates> findBookingDatesByItemIdIn(@Param("itemIds") Collection<Long> itemIds,
+                                                      @Param("now") LocalDateTime now,
+                                                      @Param("status") BookingStatus status);
+
+    @Query("select new ru.practicum.shareit.booking.model.ItemBookingCount(b.item.id, count(b)) " +
+            "from Booking b group by b.item.id")
+    List<ItemBookingCount> countBookingsByItem();
 }
@@ -1,7 +1,9 @@
 package ru.practicum.shareit.booking.service;
 
+import ru.practicum.shareit.booking.dto.BookingCountDto;
 import ru.practicum.shareit.booking.dto.BookingDtoIn;
 import ru.practicum.shareit.booking.dto.BookingDtoOut;
+import ru.practicum.shareit.page.CursorPage;
 
 import java.util.List;
 
@@ -12,7 +14,17 @@ public interface BookingService {
 
     BookingDtoOut findById(Long userId, Long bookingId);
 
+    String bookingEtag(Long bookingId, Long userId);
+
+    List<BookingDtoOut> findByIds(List<Long> bookingIds, Long userId);
+
     List<BookingDtoOut> findAll(Long userId, String state, Integer from, Integer size);
 
-    List<BookingDtoOut> findAllByItemOwner(Long userId, String state);
+    CursorPage<BookingDtoOut> findAllByCursor(Long userId, String state, String cursor, Integer size);
+
+    BookingCountDto count(Long userId, String state);
+
+    List<BookingDtoOut> findAllByItemOwner(Long userId, String state, Integer from, Integer size);
+
+    CursorPage<BookingDtoOut> findAllByItemOwnerByCursor(Long userId, String state, String cursor, Integer size);
 }
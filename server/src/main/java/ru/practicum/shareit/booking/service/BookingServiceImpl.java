@@ -2,35 +2,61 @@ package ru.practicum.shareit.booking.service;
 
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.DigestUtils;
+import ru.practicum.shareit.booking.availability.BookingAvailabilityIndex;
+import ru.practicum.shareit.booking.availability.BookingOverlapConstraint;
+import ru.practicum.shareit.booking.dto.BookingCountDto;
 import ru.practicum.shareit.booking.dto.BookingDtoIn;
 import ru.practicum.shareit.booking.dto.BookingDtoOut;
-import ru.practicum.shareit.booking.emun.BookingState;
 import ru.practicum.shareit.booking.emun.BookingStatus;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingVersion;
+import ru.practicum.shareit.booking.model.BookingView;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.cache.CacheInvalidationEvent;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSuggestionIndex;
+import ru.practicum.shareit.page.CursorPage;
+import ru.practicum.shareit.page.Cursors;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @AllArgsConstructor
 public class BookingServiceImpl implements BookingService {
+    private static final String COUNT_PATH = "/bookings/count";
+
     private final BookingRepository bookingRepository;
     private final BookingMapper bookingMapper;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BookingAvailabilityIndex availabilityIndex;
+    private final ItemSuggestionIndex suggestionIndex;
 
     @Override
     public BookingDtoOut createBooking(BookingDtoIn bookingDtoIn, long userId) {
@@ -48,39 +74,51 @@ public class BookingServiceImpl implements BookingService {
         booking.setBooker(user);
         booking.setItem(item);
         booking.setStatus(BookingStatus.WAITING);
-        Booking save = bookingRepository.save(booking);
+        Booking save;
+        try {
+            save = availabilityIndex.reserve(booking, bookingRepository::save);
+        } catch (DataIntegrityViolationException e) {
+            if (!BookingOverlapConstraint.isViolatedBy(e)) {
+                throw e;
+            }
+            log.warn("Бронирование предмета {} отклонено ограничением базы данных", itemId);
+            throw new ConflictException("Предмет с Id " + itemId + " уже забронирован на эти даты");
+        }
+        suggestionIndex.recordBooking(itemId);
+        eventPublisher.publishEvent(CacheInvalidationEvent.of("/items/" + itemId, COUNT_PATH));
         log.debug("Бронирование создано успешно. bookingId={}", save.getId());
         return bookingMapper.mapToBookingDto(booking);
     }
 
     @Override
+    @Transactional
     public BookingDtoOut approve(Long userId, Long bookingId, Boolean approved) {
-        log.debug("Пользователь {} пытается изменить статус бронирования {} на {}",
-                userId, bookingId, approved ? "APPROVED" : "REJECTED");
+        BookingStatus status = approved ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+        log.debug("Пользователь {} пытается изменить статус бронирования {} на {}", userId, bookingId, status);
+
+        if (bookingRepository.updateStatusIfWaiting(bookingId, userId, status) == 0) {
+            throw rejectedTransition(userId, bookingId);
+        }
+        Booking booking = checkBooking(bookingId);
+        if (!approved) {
+            availabilityIndex.release(booking);
+        }
+        eventPublisher.publishEvent(CacheInvalidationEvent.of("/items/" + booking.getItem().getId(),
+                "/bookings/" + bookingId, COUNT_PATH));
+        log.debug("Статус бронирования {} успешно обновлен на {}", bookingId, status);
+        return bookingMapper.mapToBookingDto(booking);
+    }
+
+    private RuntimeException rejectedTransition(Long userId, Long bookingId) {
         Booking booking = checkBooking(bookingId);
         Long itemOwnerId = booking.getItem().getOwner().getId();
 
         if (!itemOwnerId.equals(userId)) {
             log.warn("Пользователь {} не является владельцем предмета {} для бронирования {}", userId, booking.getItem().getId(), bookingId);
-            throw new ValidationException("User с Id " + itemOwnerId + " не является владельцем предмета " + booking.getItem().getId());
-        }
-
-        if (!booking.getStatus().equals(BookingStatus.WAITING)) {
-            log.warn("Бронирование {} уже подтверждено или отклонено", bookingId);
-            throw new ValidationException("Бронирование подтверждено или отклонено");
-        }
-
-        if (approved) {
-            booking.setStatus(BookingStatus.APPROVED);
-            log.debug("Бронирование {} подтверждено", bookingId);
-        } else {
-            booking.setStatus(BookingStatus.REJECTED);
-            log.debug("Бронирование {} отклонено", bookingId);
+            return new ValidationException("User с Id " + itemOwnerId + " не является владельцем предмета " + booking.getItem().getId());
         }
-
-        bookingRepository.save(booking);
-        log.debug("Статус бронирования {} успешно обновлен", bookingId);
-        return bookingMapper.mapToBookingDto(booking);
+        log.warn("Бронирование {} уже подтверждено или отклонено", bookingId);
+        return new ValidationException("Бронирование подтверждено или отклонено");
     }
 
     @Override
@@ -92,6 +130,30 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
+    public String bookingEtag(Long bookingId, Long userId) {
+        checkUser(userId);
+        BookingVersion version = bookingRepository.findVersionById(bookingId)
+                .orElseThrow(() -> new NotFoundException("Бронирование с Id " + bookingId + " не найдено"));
+        String fingerprint = bookingId + ":" + version.version() + ":" + version.itemVersion() + ":" + version.bookerVersion();
+        return DigestUtils.md5DigestAsHex(fingerprint.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookingDtoOut> findByIds(List<Long> bookingIds, Long userId) {
+        log.debug("Пользователь {} запрашивает бронирования с Id {}", userId, bookingIds);
+        checkUser(userId);
+        Map<Long, Booking> bookings = bookingRepository.findAllByIdIn(bookingIds).stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+        return bookingMapper.mapToBookingDto(bookingIds.stream()
+                .distinct()
+                .map(bookings::get)
+                .filter(Objects::nonNull)
+                .toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<BookingDtoOut> findAll(Long userId, String state, Integer from, Integer size) {
         log.debug("Пользователь {} запрашивает бронирования с состоянием '{}', from={}, size={}",
                 userId, state, from, size);
@@ -101,10 +163,11 @@ public class BookingServiceImpl implements BookingService {
 
         Pageable page = PageRequest.of(from > 0 ? from / size : 0, size);
 
-        Page<Booking> bookings = switch (state.toUpperCase()) {
-            case "CURRENT" -> bookingRepository.findAllByBookerIdAndEndAfterOrderByStartDesc(userId, now, page);
+        Slice<BookingView> bookings = switch (state.toUpperCase()) {
+            case "CURRENT" -> bookingRepository.findAllByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(userId,
+                    now, now, page);
             case "PAST" -> bookingRepository.findAllByBookerIdAndEndBeforeOrderByStartDesc(userId, now, page);
-            case "FUTURE" -> bookingRepository.findAllByBookerIdAndStartBeforeOrderByStartDesc(userId, now, page);
+            case "FUTURE" -> bookingRepository.findAllByBookerIdAndStartAfterOrderByStartDesc(userId, now, page);
             case "WAITING" ->
                     bookingRepository.findAllByBookerIdAndStatusOrderByStartDesc(userId, BookingStatus.WAITING, page);
             case "REJECTED" ->
@@ -115,45 +178,134 @@ public class BookingServiceImpl implements BookingService {
         if (bookings.isEmpty()) {
             log.warn("Пользователь {} не найдено бронирований с состоянием '{}'", userId, state);
         } else {
-            log.debug("Найдено {} бронирований для пользователя {} с состоянием '{}'",
-                    bookings.getTotalElements(), userId, state);
+            log.debug("Найдено {} бронирований для пользователя {} с состоянием '{}', есть продолжение: {}",
+                    bookings.getNumberOfElements(), userId, state, bookings.hasNext());
         }
 
         return bookings.map(bookingMapper::mapToBookingDto).getContent();
     }
 
     @Override
-    public List<BookingDtoOut> findAllByItemOwner(Long userId, String state) {
-        log.debug("Пользователь {} запрашивает бронирования предметов со статусом '{}'", userId, state);
+    public BookingCountDto count(Long userId, String state) {
+        log.debug("Пользователь {} запрашивает количество бронирований с состоянием '{}'", userId, state);
         checkUser(userId);
 
-        BookingState status = switch (state.toUpperCase()) {
-            case "CURRENT" -> BookingState.CURRENT;
-            case "PAST" -> BookingState.PAST;
-            case "FUTURE" -> BookingState.FUTURE;
-            case "WAITING" -> BookingState.WAITING;
-            case "REJECTED" -> BookingState.REJECTED;
-            default -> null;
+        LocalDateTime now = LocalDateTime.now();
+
+        long count = switch (state.toUpperCase()) {
+            case "CURRENT" -> bookingRepository.countByBookerIdAndStartBeforeAndEndAfter(userId, now, now);
+            case "PAST" -> bookingRepository.countByBookerIdAndEndBefore(userId, now);
+            case "FUTURE" -> bookingRepository.countByBookerIdAndStartAfter(userId, now);
+            case "WAITING" -> bookingRepository.countByBookerIdAndStatus(userId, BookingStatus.WAITING);
+            case "REJECTED" -> bookingRepository.countByBookerIdAndStatus(userId, BookingStatus.REJECTED);
+            default -> bookingRepository.countByBookerId(userId);
         };
 
-        List<Booking> bookings;
+        log.debug("У пользователя {} {} бронирований с состоянием '{}'", userId, count, state);
+        return new BookingCountDto(state.toUpperCase(), count);
+    }
 
-        if (status == null) {
-            bookings = bookingRepository.findAllByItemOwnerIdOrderByStartDesc(userId);
-            log.debug("Статус не указан или некорректен, выбраны все бронирования для владельца {}", userId);
-        } else {
-            bookings = bookingRepository.findAllByItemOwnerIdAndStatusOrderByStartDesc(userId, status);
-            log.debug("Выбраны бронирования для владельца {} со статусом {}", userId, status);
-        }
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<BookingDtoOut> findAllByCursor(Long userId, String state, String cursor, Integer size) {
+        log.debug("Пользователь {} запрашивает бронирования с состоянием '{}', cursor={}, size={}",
+                userId, state, cursor, size);
+        checkUser(userId);
 
-        if (bookings == null || bookings.isEmpty()) {
+        LocalDateTime now = LocalDateTime.now();
+        ScrollPosition position = position(cursor);
+        Limit limit = Limit.of(size);
+
+        Window<Booking> bookings = switch (state.toUpperCase()) {
+            case "CURRENT" -> bookingRepository.findByBookerIdAndStartBeforeAndEndAfterOrderByStartDescIdDesc(userId,
+                    now, now, position, limit);
+            case "PAST" -> bookingRepository.findByBookerIdAndEndBeforeOrderByStartDescIdDesc(userId, now, position, limit);
+            case "FUTURE" -> bookingRepository.findByBookerIdAndStartAfterOrderByStartDescIdDesc(userId, now, position, limit);
+            case "WAITING" -> bookingRepository.findByBookerIdAndStatusOrderByStartDescIdDesc(userId,
+                    BookingStatus.WAITING, position, limit);
+            case "REJECTED" -> bookingRepository.findByBookerIdAndStatusOrderByStartDescIdDesc(userId,
+                    BookingStatus.REJECTED, position, limit);
+            default -> bookingRepository.findByBookerIdOrderByStartDescIdDesc(userId, position, limit);
+        };
+
+        log.debug("Найдено {} бронирований для пользователя {} с состоянием '{}', есть продолжение: {}",
+                bookings.size(), userId, state, bookings.hasNext());
+        return page(bookings);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookingDtoOut> findAllByItemOwner(Long userId, String state, Integer from, Integer size) {
+        log.debug("Пользователь {} запрашивает бронирования своих предметов с состоянием '{}', from={}, size={}",
+                userId, state, from, size);
+        checkUser(userId);
+
+        LocalDateTime now = LocalDateTime.now();
+
+        Pageable page = PageRequest.of(from > 0 ? from / size : 0, size);
+
+        Slice<BookingView> bookings = switch (state.toUpperCase()) {
+            case "CURRENT" -> bookingRepository.findAllByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDesc(userId,
+                    now, now, page);
+            case "PAST" -> bookingRepository.findAllByItemOwnerIdAndEndBeforeOrderByStartDesc(userId, now, page);
+            case "FUTURE" -> bookingRepository.findAllByItemOwnerIdAndStartAfterOrderByStartDesc(userId, now, page);
+            case "WAITING" -> bookingRepository.findAllByItemOwnerIdAndStatusOrderByStartDesc(userId,
+                    BookingStatus.WAITING, page);
+            case "REJECTED" -> bookingRepository.findAllByItemOwnerIdAndStatusOrderByStartDesc(userId,
+                    BookingStatus.REJECTED, page);
+            default -> bookingRepository.findAllByItemOwnerIdOrderByStartDesc(userId, page);
+        };
+
+        if (bookings.isEmpty() && !itemRepository.existsByOwnerId(userId)) {
             log.warn("У пользователя {} нет предметов для аренды", userId);
             throw new NotFoundException("У вас нет предметов для аренды");
-        } else {
-            log.debug("Найдено {} бронирований для пользователя {}", bookings.size(), userId);
         }
+        log.debug("Найдено {} бронирований предметов пользователя {}, есть продолжение: {}",
+                bookings.getNumberOfElements(), userId, bookings.hasNext());
+
+        return bookings.map(bookingMapper::mapToBookingDto).getContent();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<BookingDtoOut> findAllByItemOwnerByCursor(Long userId, String state, String cursor,
+                                                                Integer size) {
+        log.debug("Пользователь {} запрашивает бронирования своих предметов с состоянием '{}', cursor={}, size={}",
+                userId, state, cursor, size);
+        checkUser(userId);
+
+        LocalDateTime now = LocalDateTime.now();
+        ScrollPosition position = position(cursor);
+        Limit limit = Limit.of(size);
+
+        Window<Booking> bookings = switch (state.toUpperCase()) {
+            case "CURRENT" -> bookingRepository.findByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDescIdDesc(userId,
+                    now, now, position, limit);
+            case "PAST" -> bookingRepository.findByItemOwnerIdAndEndBeforeOrderByStartDescIdDesc(userId, now,
+                    position, limit);
+            case "FUTURE" -> bookingRepository.findByItemOwnerIdAndStartAfterOrderByStartDescIdDesc(userId, now,
+                    position, limit);
+            case "WAITING" -> bookingRepository.findByItemOwnerIdAndStatusOrderByStartDescIdDesc(userId,
+                    BookingStatus.WAITING, position, limit);
+            case "REJECTED" -> bookingRepository.findByItemOwnerIdAndStatusOrderByStartDescIdDesc(userId,
+                    BookingStatus.REJECTED, position, limit);
+            default -> bookingRepository.findByItemOwnerIdOrderByStartDescIdDesc(userId, position, limit);
+        };
+
+        log.debug("Найдено {} бронирований предметов пользователя {}, есть продолжение: {}",
+                bookings.size(), userId, bookings.hasNext());
+        return page(bookings);
+    }
+
+    private static ScrollPosition position(String cursor) {
+        return Cursors.position(cursor, keys -> Map.of(
+                "start", LocalDateTime.parse(keys[0]),
+                "id", Long.parseLong(keys[1])));
+    }
 
-        return bookingMapper.mapToBookingDto(bookings);
+    private CursorPage<BookingDtoOut> page(Window<Booking> bookings) {
+        return Cursors.page(bookings, booking -> List.of(booking.getStart(), booking.getId()),
+                bookingMapper::mapToBookingDto);
     }
 
     private User checkUser(Long id) {
@@ -0,0 +1,9 @@
+package ru.practicum.shareit.cache;
+
+import java.util.List;
+
+public record CacheInvalidationEvent(List<String> paths) {
+    public static CacheInvalidationEvent of(String... paths) {
+        return new CacheInvalidationEvent(List.of(paths));
+    }
+}
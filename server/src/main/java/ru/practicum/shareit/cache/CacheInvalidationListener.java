@@ -0,0 +1,29 @@
+package ru.practicum.shareit.cache;
+
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+@Slf4j
+@Component
+public class CacheInvalidationListener {
+    public static final String INVALIDATE_HEADER = "X-ShareIt-Invalidate";
+
+    @EventListener
+    public void onInvalidation(CacheInvalidationEvent event) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return;
+        }
+        HttpServletResponse response = servletAttributes.getResponse();
+        if (response == null || response.isCommitted()) {
+            return;
+        }
+        log.debug("Сброс кэша шлюза для {}", event.paths());
+        event.paths().forEach(path -> response.addHeader(INVALIDATE_HEADER, path));
+    }
+}
@@ -2,6 +2,7 @@ package ru.practicum.shareit.exception;
 
 import jakarta.validation.ConstraintViolationException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -52,4 +53,10 @@ public class ErrorHandler {
     public ErrorResponse handleDataIntegrityViolation(DataIntegrityViolationException e) {
         return new ErrorResponse("Ошибка сохранения данных.");
     }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse handleOptimisticLocking(OptimisticLockingFailureException e) {
+        return new ErrorResponse("Данные были изменены другим запросом, повторите попытку.");
+    }
 }
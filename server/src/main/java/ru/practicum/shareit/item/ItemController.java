@@ -3,12 +3,18 @@ package ru.practicum.shareit.item;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
 import lombok.AllArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemSuggestionDto;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.service.ItemService;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -19,20 +25,60 @@ public class ItemController {
 
     @GetMapping("/{itemId}")
     public ItemDto getItem(@PathVariable Long itemId,
-                           @RequestHeader("X-Sharer-User-Id") Long userId) {
+                           @RequestHeader("X-Sharer-User-Id") Long userId,
+                           WebRequest request) {
+        if (request.checkNotModified(itemService.itemEtag(itemId, userId))) {
+            return null;
+        }
         return itemService.findItem(itemId, userId);
     }
 
+    @GetMapping(params = "ids")
+    public List<ItemDto> getItems(@RequestParam List<Long> ids,
+                                  @RequestHeader("X-Sharer-User-Id") Long userId) {
+        return itemService.findItems(ids, userId);
+    }
+
     @GetMapping
-    public List<ItemDto> getItemsByUserid(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                          @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-                                          @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
-        return itemService.findUserItems(userId, from, size);
+    public ResponseEntity<List<ItemDto>> getItemsByUserid(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                          @RequestParam(required = false) String cursor,
+                                                          @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                                          @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+        if (cursor != null) {
+            return itemService.findUserItemsByCursor(userId, cursor, size).toResponse();
+        }
+        return ResponseEntity.ok(itemService.findUserItems(userId, from, size));
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public ItemAvailabilityDto getAvailability(@PathVariable Long itemId,
+                                               @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                               LocalDateTime from,
+                                               @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                               LocalDateTime to) {
+        return itemService.findAvailability(itemId, from, to);
+    }
+
+    @GetMapping("/availability")
+    public List<ItemAvailabilityDto> getAvailability(@RequestParam List<Long> ids,
+                                                     @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                     LocalDateTime from,
+                                                     @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                     LocalDateTime to) {
+        return itemService.findAvailability(ids, from, to);
     }
 
     @GetMapping("/search")
-    public List<ItemDto> searchItems(@RequestParam(required = false) final String text) {
-        return itemService.searchItems(text);
+    public ResponseEntity<List<ItemDto>> searchItems(@RequestParam(required = false) final String text,
+                                                     @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                                     @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+                                                     @RequestParam(name = "total", defaultValue = "false") boolean total) {
+        return itemService.searchItems(text, from, size, total).toResponse();
+    }
+
+    @GetMapping("/suggest")
+    public List<ItemSuggestionDto> suggestItems(@RequestParam(required = false) final String prefix) {
+        return itemService.suggestItems(prefix);
     }
 
     @PostMapping
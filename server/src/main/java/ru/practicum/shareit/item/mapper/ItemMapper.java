@@ -12,6 +12,7 @@ import java.util.List;
 @Mapper
 public interface ItemMapper {
     @Mapping(source = "ownerId", target = "owner.id")
+    @Mapping(target = "version", ignore = true)
     Item mapToItem(ItemDto itemDto);
 
     @Mapping(source = "owner.id", target = "ownerId")
@@ -21,10 +21,10 @@ public class Comment {
     Long id;
     @Column(name = "text")
     String text;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "item_id")
     Item item;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     User author;
     @Column(name = "created_date")
@@ -11,7 +11,7 @@ import ru.practicum.shareit.user.model.User;
 @Getter
 @Setter
 @Entity
-@Table(name = "Items")
+@Table(name = "Items", indexes = @Index(name = "items_owner_idx", columnList = "user_id, id"))
 @NoArgsConstructor
 @AllArgsConstructor
 public class Item {
@@ -27,10 +27,13 @@ public class Item {
     @Column(name = "available")
     @NotNull(message = "Поле \"available\" не может быть пустым")
     Boolean available;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     User owner;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "request_id")
     ItemRequest request;
+    @Version
+    @Column(name = "version")
+    Long version;
 }
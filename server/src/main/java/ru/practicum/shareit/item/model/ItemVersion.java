@@ -0,0 +1,4 @@
+package ru.practicum.shareit.item.model;
+
+public record ItemVersion(Long version, Long ownerId, Long commentCount, Long lastCommentId, Long authorVersions) {
+}
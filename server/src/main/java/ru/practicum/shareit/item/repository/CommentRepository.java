@@ -1,13 +1,23 @@
 package ru.practicum.shareit.item.repository;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.model.Comment;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
+    @EntityGraph(attributePaths = "author")
     List<Comment> findAllByItemId(Long itemId);
 
-    List<Comment> findAllByItemIdIn(List<Long> itemsId);
+    @Query("select new ru.practicum.shareit.item.dto.CommentDto(c.id, c.text, c.item.id, a.name, c.created) " +
+            "from Comment c join c.author a where c.item.id in ?1")
+    List<CommentDto> findDtosByItemIdIn(Collection<Long> itemIds);
+
+    @Query("select distinct c.item.id from Comment c where c.author.id = ?1")
+    List<Long> findItemIdsByAuthorId(Long authorId);
 }
@@ -1,19 +1,65 @@
 package ru.practicum.shareit.item.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemVersion;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
+    String CONTAINING = "from Item i where i.available = true " +
+            "and (lower(i.name) like %?#{escape([0])}% escape ?#{escapeCharacter()} " +
+            "or lower(i.description) like %?#{escape([0])}% escape ?#{escapeCharacter()}) ";
 
     Page<Item> findByOwnerId(Long id, Pageable page);
 
-    List<Item> findByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCase(String nameText, String descriptionText);
+    boolean existsByOwnerId(Long ownerId);
+
+    Window<Item> findByOwnerIdOrderByIdAsc(Long id, ScrollPosition position, Limit limit);
+
+    @Query("select i " + CONTAINING + "order by case when lower(i.name) like %?#{escape([0])}% " +
+            "escape ?#{escapeCharacter()} then 0 else 1 end, i.id")
+    List<Item> searchContaining(String lowercaseText, Pageable page);
+
+    @Query("select i.id " + CONTAINING)
+    List<Long> findContainingIds(String lowercaseText, Limit limit);
+
+    @Query(value = "select i.* from items i where i.available and i.search_vector @@ to_tsquery('russian', :query) " +
+            "order by ts_rank(i.search_vector, to_tsquery('russian', :query)) desc, i.id", nativeQuery = true)
+    List<Item> searchRanked(@Param("query") String query, Pageable page);
+
+    @Query(value = "select count(*) from (select 1 from items i where i.available " +
+            "and i.search_vector @@ to_tsquery('russian', :query) limit :limit) hits", nativeQuery = true)
+    long countRanked(@Param("query") String query, @Param("limit") int limit);
+
+    List<Item> findAllByAvailableTrue();
+
+    List<Item> findAllByIdInOrderById(Collection<Long> ids);
 
     List<Item> findAllByRequestIdIn(Iterable<Long> ids);
 
     List<Item> findAllByRequestId(Long requestId);
+
+    @EntityGraph(attributePaths = {"owner", "request", "request.owner"})
+    List<Item> findAllByIdIn(Collection<Long> ids);
+
+    @Query("select i.id from Item i where i.id in ?1")
+    List<Long> findIdsByIdIn(Collection<Long> ids);
+
+    @Query("select new ru.practicum.shareit.item.model.ItemVersion(i.version, i.owner.id, " +
+            "(select count(c) from Comment c where c.item = i), " +
+            "(select coalesce(max(c.id), 0L) from Comment c where c.item = i), " +
+            "(select coalesce(sum(c.author.version), 0L) from Comment c where c.item = i)) " +
+            "from Item i where i.id = ?1")
+    Optional<ItemVersion> findVersionById(Long id);
 }
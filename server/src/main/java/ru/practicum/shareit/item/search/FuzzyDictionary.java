@@ -0,0 +1,135 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Отсортированный словарь, который обходится как неявное префиксное дерево: строки матрицы Левенштейна
+ * для общего префикса соседних слов считаются один раз, а когда минимум строки превышает радиус,
+ * все слова с этим префиксом пропускаются бинарным поиском. Это эквивалентно пересечению
+ * автомата Левенштейна запроса с деревом словаря, но без узлов-объектов.
+ * Не потокобезопасен для записи; поиск можно выполнять параллельно.
+ */
+final class FuzzyDictionary {
+    private String[] words = new String[16];
+    private int size;
+    private int longest;
+
+    int size() {
+        return size;
+    }
+
+    void add(String word) {
+        int position = Arrays.binarySearch(words, 0, size, word);
+        if (position >= 0) {
+            return;
+        }
+        position = -position - 1;
+        if (size == words.length) {
+            words = Arrays.copyOf(words, size + (size >> 1));
+        }
+        System.arraycopy(words, position, words, position + 1, size - position);
+        words[position] = word;
+        size++;
+        longest = Math.max(longest, word.length());
+    }
+
+    void search(String query, int radius, Consumer<String> action) {
+        int columns = query.length() + 1;
+        int cap = radius + 1;
+        int[][] rows = new int[longest + 1][columns];
+        int[] minimums = new int[longest + 1];
+        for (int[] row : rows) {
+            Arrays.fill(row, cap);
+        }
+        for (int j = 0; j < Math.min(columns, cap); j++) {
+            rows[0][j] = j;
+        }
+        String previous = "";
+        int valid = 0;
+        int i = 0;
+        while (i < size) {
+            String word = words[i];
+            int depth = Math.min(valid, commonPrefix(previous, word));
+            int min = minimums[depth];
+            while (depth < word.length() && min < radius) {
+                depth++;
+                min = fill(rows[depth - 1], rows[depth], depth, word.charAt(depth - 1), query, radius);
+                minimums[depth] = min;
+            }
+            previous = word;
+            valid = depth;
+            if (depth == word.length() && min <= radius) {
+                if (rows[depth][columns - 1] <= radius) {
+                    action.accept(word);
+                }
+                i++;
+            } else {
+                int end = skipPrefix(word, depth, i + 1);
+                if (min == radius) {
+                    acceptExactTails(word, depth, rows[depth], query, radius, i, end, action);
+                }
+                i = end;
+            }
+        }
+    }
+
+    /**
+     * Все правки уже израсходованы: продолжение префикса обязано совпасть с хвостом запроса,
+     * поэтому вместо обхода поддерева ищем каждое такое слово бинарным поиском.
+     */
+    private void acceptExactTails(String word, int depth, int[] row, String query, int radius,
+                                  int from, int to, Consumer<String> action) {
+        String prefix = word.substring(0, depth);
+        for (int j = Math.max(0, depth - radius); j < Math.min(query.length(), depth + radius + 1); j++) {
+            if (row[j] == radius && Arrays.binarySearch(words, from, to, prefix + query.substring(j)) >= 0) {
+                action.accept(prefix + query.substring(j));
+            }
+        }
+    }
+
+    /**
+     * Строка матрицы для глубины {@code depth} только в полосе |depth - j| <= radius: ячейки вне полосы
+     * заведомо больше радиуса и остаются равными radius + 1.
+     */
+    private static int fill(int[] above, int[] row, int depth, char letter, String query, int radius) {
+        int min = radius + 1;
+        if (depth <= radius) {
+            row[0] = depth;
+            min = depth;
+        }
+        int last = Math.min(query.length(), depth + radius);
+        for (int j = Math.max(1, depth - radius); j <= last; j++) {
+            int substitution = above[j - 1] + (query.charAt(j - 1) == letter ? 0 : 1);
+            row[j] = Math.min(radius + 1, Math.min(substitution, Math.min(above[j], row[j - 1]) + 1));
+            min = Math.min(min, row[j]);
+        }
+        return min;
+    }
+
+    /**
+     * Первый индекс начиная с {@code from}, слово на котором не начинается с первых {@code length} символов {@code word}.
+     */
+    private int skipPrefix(String word, int length, int from) {
+        int low = from;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (words[middle].regionMatches(0, word, 0, length)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static int commonPrefix(String a, String b) {
+        int limit = Math.min(a.length(), b.length());
+        int i = 0;
+        while (i < limit && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        return i;
+    }
+}
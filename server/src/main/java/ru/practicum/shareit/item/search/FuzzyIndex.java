@@ -0,0 +1,137 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Словарь слов из названий и описаний со списками id вещей и словарём для поиска слов с опечатками.
+ * Слово остаётся в словаре, даже когда его список пустеет: пустой список просто ничего не добавляет к результату.
+ * Не потокобезопасен.
+ */
+final class FuzzyIndex {
+    /**
+     * Слову разрешается одна опечатка на каждые четыре буквы: короткие слова с опечаткой совпадают со слишком многими.
+     */
+    private static final int LETTERS_PER_TYPO = 4;
+
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final Map<Long, String[]> documents = new HashMap<>();
+    private final FuzzyDictionary dictionary = new FuzzyDictionary();
+
+    int size() {
+        return documents.size();
+    }
+
+    int dictionarySize() {
+        return dictionary.size();
+    }
+
+    void put(long id, String name, String description) {
+        remove(id);
+        String[] words = Stream.concat(Arrays.stream(Words.of(name)), Arrays.stream(Words.of(description)))
+                .distinct()
+                .toArray(String[]::new);
+        documents.put(id, words);
+        for (String word : words) {
+            postings.computeIfAbsent(word, key -> {
+                dictionary.add(key);
+                return new PostingList();
+            }).add(id);
+        }
+    }
+
+    void remove(long id) {
+        String[] words = documents.remove(id);
+        if (words == null) {
+            return;
+        }
+        for (String word : words) {
+            postings.get(word).remove(id);
+        }
+    }
+
+    /**
+     * Id вещей, в которых для каждого слова запроса есть слово на расстоянии Левенштейна не больше допустимого.
+     */
+    List<Long> search(String text, int maxDistance) {
+        String[] words = Words.of(text);
+        if (words.length == 0) {
+            return List.of();
+        }
+        long[] found = null;
+        for (String word : words) {
+            long[] matches = matches(word, Math.min(maxDistance, word.length() / LETTERS_PER_TYPO));
+            found = found == null ? matches : intersect(found, matches);
+            if (found.length == 0) {
+                return List.of();
+            }
+        }
+        return Arrays.stream(found).boxed().toList();
+    }
+
+    private long[] matches(String word, int radius) {
+        if (radius == 0) {
+            return toArray(postings.get(word));
+        }
+        List<String> terms = new ArrayList<>();
+        dictionary.search(word, radius, terms::add);
+        long[] ids = new long[0];
+        for (String term : terms) {
+            ids = union(ids, toArray(postings.get(term)));
+        }
+        return ids;
+    }
+
+    private static long[] toArray(PostingList list) {
+        if (list == null) {
+            return new long[0];
+        }
+        long[] ids = new long[list.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = list.get(i);
+        }
+        return ids;
+    }
+
+    private static long[] union(long[] a, long[] b) {
+        long[] merged = new long[a.length + b.length];
+        int i = 0;
+        int j = 0;
+        int size = 0;
+        while (i < a.length || j < b.length) {
+            long next;
+            if (j == b.length || i < a.length && a[i] < b[j]) {
+                next = a[i++];
+            } else if (i == a.length || b[j] < a[i]) {
+                next = b[j++];
+            } else {
+                next = a[i++];
+                j++;
+            }
+            merged[size++] = next;
+        }
+        return Arrays.copyOf(merged, size);
+    }
+
+    private static long[] intersect(long[] a, long[] b) {
+        long[] common = new long[Math.min(a.length, b.length)];
+        int i = 0;
+        int j = 0;
+        int size = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (b[j] < a[i]) {
+                j++;
+            } else {
+                common[size++] = a[i++];
+                j++;
+            }
+        }
+        return Arrays.copyOf(common, size);
+    }
+}
@@ -0,0 +1,73 @@
+package ru.practicum.shareit.item.search;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+public class ItemFuzzyIndex {
+    private final ItemRepository itemRepository;
+    private final int maxDistance;
+    private final FuzzyIndex index = new FuzzyIndex();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public ItemFuzzyIndex(ItemRepository itemRepository,
+                          @Value("${shareit-server.search.fuzzy.max-distance:1}") int maxDistance) {
+        this.itemRepository = itemRepository;
+        this.maxDistance = maxDistance;
+    }
+
+    public boolean isEnabled() {
+        return maxDistance > 0;
+    }
+
+    public List<Long> search(String text) {
+        lock.readLock().lock();
+        try {
+            return index.search(text, maxDistance);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void index(Item item) {
+        if (!isEnabled()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (Boolean.TRUE.equals(item.getAvailable())) {
+                index.put(item.getId(), item.getName(), item.getDescription());
+            } else {
+                index.remove(item.getId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @PostConstruct
+    void build() {
+        if (!isEnabled()) {
+            return;
+        }
+        List<Item> items = itemRepository.findAllByAvailableTrue();
+        lock.writeLock().lock();
+        try {
+            items.forEach(item -> index.put(item.getId(), item.getName(), item.getDescription()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Построен словарь нечёткого поиска: {} слов по {} доступным вещам", index.dictionarySize(), items.size());
+    }
+}
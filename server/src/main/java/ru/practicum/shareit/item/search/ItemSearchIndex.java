@@ -0,0 +1,60 @@
+package ru.practicum.shareit.item.search;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@DependsOn("entityManagerFactory")
+public class ItemSearchIndex {
+    static final String COLUMN = "search_vector";
+    static final String INDEX = "items_search_idx";
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile boolean installed;
+
+    public boolean isInstalled() {
+        return installed;
+    }
+
+    /**
+     * Превращает пользовательский текст в tsquery, где каждое слово — префикс: «дрел акк» → «дрел:* & акк:*».
+     * Всё, кроме букв и цифр, отбрасывается, поэтому синтаксис tsquery из запроса не проходит.
+     */
+    public static String toTsQuery(String text) {
+        return Arrays.stream(Words.of(text))
+                .map(word -> word + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+
+    @PostConstruct
+    void install() {
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equals(database)) {
+            log.info("Полнотекстовый индекс {} не создаётся для {}", INDEX, database);
+            return;
+        }
+        try {
+            jdbcTemplate.execute("alter table items add column if not exists " + COLUMN + " tsvector " +
+                    "generated always as (" +
+                    "setweight(to_tsvector('russian', coalesce(name, '')), 'A') || " +
+                    "setweight(to_tsvector('russian', coalesce(description, '')), 'B')) stored");
+            jdbcTemplate.execute("create index if not exists " + INDEX + " on items using gin (" + COLUMN + ")");
+            installed = true;
+            log.info("Создан полнотекстовый индекс {} по названию и описанию вещей", INDEX);
+        } catch (DataAccessException e) {
+            log.warn("Не удалось создать полнотекстовый индекс {}: {}", INDEX, e.getMostSpecificCause().getMessage());
+        }
+    }
+}
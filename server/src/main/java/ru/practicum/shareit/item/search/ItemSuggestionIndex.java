@@ -0,0 +1,82 @@
+package ru.practicum.shareit.item.search;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.model.ItemBookingCount;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.dto.ItemSuggestionDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+public class ItemSuggestionIndex {
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final SuggestionTrie trie;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public ItemSuggestionIndex(ItemRepository itemRepository,
+                               BookingRepository bookingRepository,
+                               @Value("${shareit-server.search.suggest.limit:10}") int limit) {
+        this.itemRepository = itemRepository;
+        this.bookingRepository = bookingRepository;
+        this.trie = new SuggestionTrie(limit);
+    }
+
+    public List<ItemSuggestionDto> suggest(String prefix) {
+        lock.readLock().lock();
+        try {
+            return Arrays.stream(trie.suggest(prefix))
+                    .mapToObj(id -> new ItemSuggestionDto(id, trie.name(id)))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void index(Item item) {
+        lock.writeLock().lock();
+        try {
+            if (Boolean.TRUE.equals(item.getAvailable())) {
+                trie.put(item.getId(), item.getName());
+            } else {
+                trie.remove(item.getId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void recordBooking(Long itemId) {
+        lock.writeLock().lock();
+        try {
+            trie.addPopularity(itemId, 1);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @PostConstruct
+    void build() {
+        List<ItemBookingCount> counts = bookingRepository.countBookingsByItem();
+        List<Item> items = itemRepository.findAllByAvailableTrue();
+        lock.writeLock().lock();
+        try {
+            counts.forEach(count -> trie.addPopularity(count.itemId(), count.count()));
+            items.forEach(item -> trie.put(item.getId(), item.getName()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Построено дерево подсказок по {} доступным вещам", trie.size());
+    }
+}
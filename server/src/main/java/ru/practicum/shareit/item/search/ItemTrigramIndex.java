@@ -0,0 +1,78 @@
+package ru.practicum.shareit.item.search;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+public class ItemTrigramIndex {
+    private final ItemRepository itemRepository;
+    private final boolean enabled;
+    private final TrigramIndex index = new TrigramIndex();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public ItemTrigramIndex(ItemRepository itemRepository,
+                            @Value("${shareit-server.search.engine:sql}") SearchEngine engine) {
+        this.itemRepository = itemRepository;
+        this.enabled = engine == SearchEngine.MEMORY;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public List<Long> search(String text) {
+        lock.readLock().lock();
+        try {
+            return index.search(text);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void index(Item item) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (Boolean.TRUE.equals(item.getAvailable())) {
+                index.put(item.getId(), item.getName(), item.getDescription());
+            } else {
+                index.remove(item.getId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @PostConstruct
+    void build() {
+        if (!enabled) {
+            return;
+        }
+        List<Item> items = itemRepository.findAllByAvailableTrue();
+        lock.writeLock().lock();
+        try {
+            items.forEach(item -> index.put(item.getId(), item.getName(), item.getDescription()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Построен индекс триграмм по {} доступным вещам", items.size());
+    }
+
+    public enum SearchEngine {
+        SQL,
+        MEMORY
+    }
+}
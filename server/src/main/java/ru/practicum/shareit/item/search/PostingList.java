@@ -0,0 +1,66 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.Arrays;
+
+/**
+ * Отсортированный по возрастанию список id в примитивном массиве. Id вещей растут,
+ * поэтому новая вещь почти всегда дописывается в конец без сдвига.
+ */
+final class PostingList {
+    private long[] ids = new long[4];
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    long get(int index) {
+        return ids[index];
+    }
+
+    void add(long id) {
+        if (size > 0 && ids[size - 1] >= id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0) {
+                return;
+            }
+            insert(-position - 1, id);
+            return;
+        }
+        insert(size, id);
+    }
+
+    boolean remove(long id) {
+        int position = Arrays.binarySearch(ids, 0, size, id);
+        if (position < 0) {
+            return false;
+        }
+        System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+        size--;
+        return true;
+    }
+
+    /**
+     * Первая позиция не меньше {@code from}, где лежит id не меньше {@code id}: галопом, затем бинарным поиском.
+     */
+    int seek(long id, int from) {
+        if (from >= size) {
+            return size;
+        }
+        int bound = 1;
+        while (from + bound < size && ids[from + bound] < id) {
+            bound <<= 1;
+        }
+        int position = Arrays.binarySearch(ids, from + (bound >> 1), Math.min(from + bound + 1, size), id);
+        return position >= 0 ? position : -position - 1;
+    }
+
+    private void insert(int position, long id) {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size + (size >> 1) + 1);
+        }
+        System.arraycopy(ids, position, ids, position + 1, size - position);
+        ids[position] = id;
+        size++;
+    }
+}
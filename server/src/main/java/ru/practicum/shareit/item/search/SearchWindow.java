@@ -0,0 +1,35 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.exception.ValidationException;
+
+/**
+ * Окно результатов поиска: глубже {@code max-result-window} совпадений поиск не листается и не считает,
+ * поэтому стоимость запроса не растёт вместе с каталогом.
+ */
+@Component
+public class SearchWindow {
+    private final int maxResultWindow;
+
+    public SearchWindow(@Value("${shareit-server.search.max-result-window:1000}") int maxResultWindow) {
+        this.maxResultWindow = maxResultWindow;
+    }
+
+    public int size() {
+        return maxResultWindow;
+    }
+
+    public Pageable page(int from, int size) {
+        if (from < 0 || size <= 0) {
+            throw new ValidationException("Некорректные параметры страницы: from = " + from + ", size = " + size);
+        }
+        if ((long) from + size > maxResultWindow) {
+            throw new ValidationException("Поиск ограничен первыми " + maxResultWindow +
+                    " результатами, запрошено from + size = " + ((long) from + size));
+        }
+        return PageRequest.of(from / size, size);
+    }
+}
@@ -0,0 +1,221 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongPredicate;
+import java.util.stream.LongStream;
+
+/**
+ * Префиксное дерево слов из названий вещей. В каждом узле хранятся id лучших по популярности вещей
+ * всего поддерева, поэтому подсказка — это спуск по префиксу без обхода поддерева.
+ * Узлы держат детей и id в массивах, а не в коллекциях. Не потокобезопасен.
+ */
+final class SuggestionTrie {
+    private static final long[] NO_IDS = new long[0];
+
+    private final int limit;
+    private final Node root = new Node();
+    private final Map<Long, String> names = new HashMap<>();
+    private final Map<Long, Long> popularity = new HashMap<>();
+
+    SuggestionTrie(int limit) {
+        this.limit = limit;
+    }
+
+    int size() {
+        return names.size();
+    }
+
+    String name(long id) {
+        return names.get(id);
+    }
+
+    void put(long id, String name) {
+        remove(id);
+        names.put(id, name);
+        for (String word : distinctWords(name)) {
+            Node[] path = path(word, true);
+            Node last = path[word.length()];
+            last.ids = with(last.ids, id);
+            rankUp(path, word);
+        }
+    }
+
+    void remove(long id) {
+        String name = names.remove(id);
+        if (name == null) {
+            return;
+        }
+        for (String word : distinctWords(name)) {
+            Node[] path = path(word, false);
+            Node last = path[word.length()];
+            last.ids = without(last.ids, id);
+            rankUp(path, word);
+        }
+    }
+
+    void addPopularity(long id, long delta) {
+        popularity.merge(id, delta, Long::sum);
+        String name = names.get(id);
+        if (name == null) {
+            return;
+        }
+        for (String word : distinctWords(name)) {
+            rankUp(path(word, false), word);
+        }
+    }
+
+    /**
+     * Самые популярные вещи, в названии которых есть слово с последним словом запроса в качестве префикса.
+     * Предыдущие слова запроса должны встретиться в названии целиком. Если после такой проверки от лучших id узла
+     * остаётся меньше лимита, подходящие вещи ищутся обходом всего поддерева.
+     */
+    long[] suggest(String prefix) {
+        String[] words = Words.of(prefix);
+        if (words.length == 0) {
+            return NO_IDS;
+        }
+        String last = words[words.length - 1];
+        Node node = root;
+        for (int i = 0; i < last.length() && node != null; i++) {
+            node = node.child(last.charAt(i));
+        }
+        if (node == null || words.length == 1) {
+            return node == null ? NO_IDS : node.top.clone();
+        }
+        List<String> required = Arrays.asList(words).subList(0, words.length - 1);
+        LongPredicate named = id -> Arrays.asList(Words.of(names.get(id))).containsAll(required);
+        long[] found = Arrays.stream(node.top).filter(named).toArray();
+        if (found.length == limit || node.top.length < limit) {
+            return found;
+        }
+        List<Long> subtree = new ArrayList<>();
+        collect(node, subtree);
+        return ranked(subtree.stream().mapToLong(Long::longValue).filter(named));
+    }
+
+    private static void collect(Node node, List<Long> ids) {
+        for (long id : node.ids) {
+            ids.add(id);
+        }
+        for (Node child : node.children) {
+            collect(child, ids);
+        }
+    }
+
+    private Node[] path(String word, boolean create) {
+        Node[] path = new Node[word.length() + 1];
+        path[0] = root;
+        for (int i = 0; i < word.length(); i++) {
+            Node next = path[i].child(word.charAt(i));
+            if (next == null && create) {
+                next = path[i].addChild(word.charAt(i));
+            }
+            path[i + 1] = next;
+        }
+        return path;
+    }
+
+    /**
+     * Пересчитывает лучшие id снизу вверх по пути слова: лучшие поддерева — лучшие из собственных id узла
+     * и лучших id детей. Опустевшие узлы отрезаются от родителя.
+     */
+    private void rankUp(Node[] path, String word) {
+        for (int depth = word.length(); depth >= 0; depth--) {
+            Node node = path[depth];
+            node.top = best(node);
+            if (depth > 0 && node.top.length == 0 && node.letters.length == 0) {
+                path[depth - 1].removeChild(word.charAt(depth - 1));
+            }
+        }
+    }
+
+    private long[] best(Node node) {
+        int total = node.ids.length;
+        for (Node child : node.children) {
+            total += child.top.length;
+        }
+        long[] candidates = Arrays.copyOf(node.ids, total);
+        int size = node.ids.length;
+        for (Node child : node.children) {
+            System.arraycopy(child.top, 0, candidates, size, child.top.length);
+            size += child.top.length;
+        }
+        return ranked(Arrays.stream(candidates));
+    }
+
+    private long[] ranked(LongStream ids) {
+        return ids.distinct()
+                .boxed()
+                .sorted((a, b) -> {
+                    int byPopularity = Long.compare(popularity.getOrDefault(b, 0L), popularity.getOrDefault(a, 0L));
+                    return byPopularity != 0 ? byPopularity : Long.compare(a, b);
+                })
+                .limit(limit)
+                .mapToLong(Long::longValue)
+                .toArray();
+    }
+
+    private static String[] distinctWords(String name) {
+        return Arrays.stream(Words.of(name)).distinct().toArray(String[]::new);
+    }
+
+    private static long[] with(long[] ids, long id) {
+        long[] result = Arrays.copyOf(ids, ids.length + 1);
+        result[ids.length] = id;
+        return result;
+    }
+
+    private static long[] without(long[] ids, long id) {
+        return Arrays.stream(ids).filter(other -> other != id).toArray();
+    }
+
+    private static final class Node {
+        private char[] letters = new char[0];
+        private Node[] children = new Node[0];
+        private long[] ids = NO_IDS;
+        private long[] top = NO_IDS;
+
+        Node child(char letter) {
+            int position = Arrays.binarySearch(letters, letter);
+            return position < 0 ? null : children[position];
+        }
+
+        Node addChild(char letter) {
+            int position = -Arrays.binarySearch(letters, letter) - 1;
+            letters = insert(letters, position, letter);
+            Node[] grown = new Node[children.length + 1];
+            System.arraycopy(children, 0, grown, 0, position);
+            System.arraycopy(children, position, grown, position + 1, children.length - position);
+            grown[position] = new Node();
+            children = grown;
+            return grown[position];
+        }
+
+        void removeChild(char letter) {
+            int position = Arrays.binarySearch(letters, letter);
+            if (position < 0) {
+                return;
+            }
+            char[] shrunkLetters = new char[letters.length - 1];
+            System.arraycopy(letters, 0, shrunkLetters, 0, position);
+            System.arraycopy(letters, position + 1, shrunkLetters, position, shrunkLetters.length - position);
+            Node[] shrunk = new Node[children.length - 1];
+            System.arraycopy(children, 0, shrunk, 0, position);
+            System.arraycopy(children, position + 1, shrunk, position, shrunk.length - position);
+            letters = shrunkLetters;
+            children = shrunk;
+        }
+
+        private static char[] insert(char[] letters, int position, char letter) {
+            char[] grown = new char[letters.length + 1];
+            System.arraycopy(letters, 0, grown, 0, position);
+            System.arraycopy(letters, position, grown, position + 1, letters.length - position);
+            grown[position] = letter;
+            return grown;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Инвертированный индекс триграмм для поиска подстроки без учёта регистра.
+ * Кандидаты — пересечение списков id всех триграмм запроса, затем каждый кандидат проверяется по тексту.
+ * Вещи, у которых совпало название, идут раньше вещей, у которых совпало только описание.
+ * Не потокобезопасен.
+ */
+final class TrigramIndex {
+    private static final int GRAM = 3;
+
+    private final Map<Long, PostingList> postings = new HashMap<>();
+    private final Map<Long, String> documents = new HashMap<>();
+
+    int size() {
+        return documents.size();
+    }
+
+    void put(long id, String name, String description) {
+        remove(id);
+        String text = normalize(name) + '\n' + normalize(description);
+        documents.put(id, text);
+        for (long gram : grams(text)) {
+            postings.computeIfAbsent(gram, key -> new PostingList()).add(id);
+        }
+    }
+
+    void remove(long id) {
+        String text = documents.remove(id);
+        if (text == null) {
+            return;
+        }
+        for (long gram : grams(text)) {
+            PostingList list = postings.get(gram);
+            if (list != null && list.remove(id) && list.size() == 0) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    List<Long> search(String query) {
+        String needle = normalize(query);
+        if (needle.length() < GRAM) {
+            return scan(needle);
+        }
+        List<PostingList> lists = new ArrayList<>();
+        for (long gram : grams(needle)) {
+            PostingList list = postings.get(gram);
+            if (list == null) {
+                return List.of();
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(PostingList::size));
+
+        PostingList smallest = lists.get(0);
+        int[] positions = new int[lists.size()];
+        List<Long> found = new ArrayList<>();
+        candidates:
+        for (int i = 0; i < smallest.size(); i++) {
+            long id = smallest.get(i);
+            for (int l = 1; l < lists.size(); l++) {
+                PostingList list = lists.get(l);
+                positions[l] = list.seek(id, positions[l]);
+                if (positions[l] == list.size()) {
+                    break candidates;
+                }
+                if (list.get(positions[l]) != id) {
+                    continue candidates;
+                }
+            }
+            if (documents.get(id).contains(needle)) {
+                found.add(id);
+            }
+        }
+        return nameMatchesFirst(found, needle);
+    }
+
+    private List<Long> scan(String needle) {
+        return nameMatchesFirst(documents.entrySet().stream()
+                .filter(entry -> entry.getValue().contains(needle))
+                .map(Map.Entry::getKey)
+                .sorted()
+                .toList(), needle);
+    }
+
+    private List<Long> nameMatchesFirst(List<Long> ids, String needle) {
+        List<Long> ranked = new ArrayList<>(ids.size());
+        List<Long> descriptionOnly = new ArrayList<>();
+        for (Long id : ids) {
+            String text = documents.get(id);
+            (text.indexOf(needle) < text.indexOf('\n') ? ranked : descriptionOnly).add(id);
+        }
+        ranked.addAll(descriptionOnly);
+        return ranked;
+    }
+
+    private static long[] grams(String text) {
+        if (text.length() < GRAM) {
+            return new long[0];
+        }
+        long[] grams = new long[text.length() - GRAM + 1];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = (long) text.charAt(i) << 32 | (long) text.charAt(i + 1) << 16 | text.charAt(i + 2);
+        }
+        return Arrays.stream(grams).distinct().toArray();
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+}
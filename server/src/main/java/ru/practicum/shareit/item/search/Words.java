@@ -0,0 +1,23 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+final class Words {
+    private static final String SEPARATORS = "[^\\p{L}\\p{N}]+";
+
+    private Words() {
+    }
+
+    /**
+     * Слова текста в нижнем регистре: последовательности букв и цифр, всё остальное — разделители.
+     */
+    static String[] of(String text) {
+        if (text == null) {
+            return new String[0];
+        }
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split(SEPARATORS))
+                .filter(word -> !word.isEmpty())
+                .toArray(String[]::new);
+    }
+}
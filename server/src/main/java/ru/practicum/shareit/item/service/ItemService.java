@@ -1,21 +1,38 @@
 package ru.practicum.shareit.item.service;
 
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemSuggestionDto;
 import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.page.CursorPage;
+import ru.practicum.shareit.page.SearchPage;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemService {
     ItemDto findItem(Long id, Long userId);
 
+    String itemEtag(Long id, Long userId);
+
+    List<ItemDto> findItems(List<Long> ids, Long userId);
+
+    ItemAvailabilityDto findAvailability(Long itemId, LocalDateTime from, LocalDateTime to);
+
+    List<ItemAvailabilityDto> findAvailability(List<Long> ids, LocalDateTime from, LocalDateTime to);
+
     List<ItemDto> findUserItems(Long id, Integer from, Integer size);
 
+    CursorPage<ItemDto> findUserItemsByCursor(Long id, String cursor, Integer size);
+
     ItemDto addItem(Long userId, ItemDto itemDto);
 
     ItemDto updateItem(Long userId, ItemDto itemDto, Long itemId);
 
-    List<ItemDto> searchItems(String text);
+    SearchPage<ItemDto> searchItems(String text, Integer from, Integer size, boolean withTotal);
+
+    List<ItemSuggestionDto> suggestItems(String prefix);
 
     CommentDto addComment(Comment comment, Long itemId, Long userId);
 }
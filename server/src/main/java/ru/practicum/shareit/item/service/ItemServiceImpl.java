@@ -2,31 +2,55 @@ package ru.practicum.shareit.item.service;
 
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.DigestUtils;
+import ru.practicum.shareit.booking.availability.BookingAvailabilityIndex;
 import ru.practicum.shareit.booking.emun.BookingStatus;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.ItemBookingDates;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.cache.CacheInvalidationEvent;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemSuggestionDto;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemVersion;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemFuzzyIndex;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.item.search.ItemSuggestionIndex;
+import ru.practicum.shareit.item.search.ItemTrigramIndex;
+import ru.practicum.shareit.item.search.SearchWindow;
+import ru.practicum.shareit.page.CursorPage;
+import ru.practicum.shareit.page.Cursors;
+import ru.practicum.shareit.page.SearchPage;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -40,6 +64,13 @@ public class ItemServiceImpl implements ItemService {
     private final CommentRepository commentRepository;
     private final CommentMapper commentMapper;
     private final ItemRequestRepository itemRequestRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BookingAvailabilityIndex availabilityIndex;
+    private final ItemSearchIndex searchIndex;
+    private final ItemTrigramIndex trigramIndex;
+    private final ItemFuzzyIndex fuzzyIndex;
+    private final ItemSuggestionIndex suggestionIndex;
+    private final SearchWindow searchWindow;
 
     @Override
     public ItemDto findItem(Long id, Long userId) {
@@ -67,44 +98,116 @@ public class ItemServiceImpl implements ItemService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public String itemEtag(Long id, Long userId) {
+        ItemVersion version = itemRepository.findVersionById(id)
+                .orElseThrow(() -> new NotFoundException("Предмет с Id " + id + " не найден"));
+        StringBuilder fingerprint = new StringBuilder()
+                .append(id).append(':').append(version.version())
+                .append(':').append(version.commentCount())
+                .append(':').append(version.lastCommentId())
+                .append(':').append(version.authorVersions());
+
+        if (version.ownerId().equals(userId)) {
+            bookingRepository.findBookingDatesByItemIdIn(List.of(id), LocalDateTime.now(), BookingStatus.APPROVED)
+                    .stream()
+                    .findFirst()
+                    .ifPresent(dates -> fingerprint.append(':').append(dates.lastBooking())
+                            .append(':').append(dates.nextBooking()));
+        }
+        return DigestUtils.md5DigestAsHex(fingerprint.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ItemDto> findItems(List<Long> ids, Long userId) {
+        log.debug("Поиск вещей по списку id = {}", ids);
+        Map<Long, Item> items = itemRepository.findAllByIdIn(ids).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+
+        return withBookingsAndComments(ids.stream()
+                .distinct()
+                .map(items::get)
+                .filter(Objects::nonNull)
+                .toList(), userId);
+    }
+
+    @Override
+    public ItemAvailabilityDto findAvailability(Long itemId, LocalDateTime from, LocalDateTime to) {
+        log.debug("Поиск свободных периодов вещи {} с {} по {}", itemId, from, to);
+        checkPeriod(from, to);
+        if (!itemRepository.existsById(itemId)) {
+            throw new NotFoundException("Предмет с Id " + itemId + " не найден");
+        }
+        return availability(itemId, from, to);
+    }
+
+    @Override
+    public List<ItemAvailabilityDto> findAvailability(List<Long> ids, LocalDateTime from, LocalDateTime to) {
+        log.debug("Поиск свободных периодов вещей {} с {} по {}", ids, from, to);
+        checkPeriod(from, to);
+        Set<Long> existing = Set.copyOf(itemRepository.findIdsByIdIn(ids));
+        return ids.stream()
+                .distinct()
+                .filter(existing::contains)
+                .map(itemId -> availability(itemId, from, to))
+                .toList();
+    }
+
+    private ItemAvailabilityDto availability(Long itemId, LocalDateTime from, LocalDateTime to) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime start = from.isBefore(now) ? now : from;
+        return ItemAvailabilityDto.builder()
+                .itemId(itemId)
+                .from(from)
+                .to(to)
+                .freeSlots(start.isBefore(to) ? availabilityIndex.freeSlots(itemId, start, to) : List.of())
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<ItemDto> findUserItems(Long id, Integer from, Integer size) {
         log.debug("Поиск вещей пользователя с id = {}", id);
         Pageable page = PageRequest.of(from > 0 ? from / size : 0, size);
-        List<Item> items = itemRepository.findByOwnerId(id, page).getContent();
+        return withBookingsAndComments(itemRepository.findByOwnerId(id, page).getContent(), id);
+    }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<ItemDto> findUserItemsByCursor(Long id, String cursor, Integer size) {
+        log.debug("Поиск вещей пользователя с id = {}, cursor={}", id, cursor);
+        ScrollPosition position = Cursors.position(cursor, keys -> Map.of("id", Long.parseLong(keys[0])));
+        return Cursors.page(itemRepository.findByOwnerIdOrderByIdAsc(id, position, Limit.of(size)),
+                item -> List.of(item.getId()), items -> withBookingsAndComments(items, id));
+    }
+
+    private List<ItemDto> withBookingsAndComments(List<Item> items, Long userId) {
         if (items.isEmpty()) {
             return Collections.emptyList();
         }
 
         List<Long> itemIds = items.stream().map(Item::getId).toList();
-        List<Booking> bookings = bookingRepository.findAllByItemIdInOrderByStartDesc(itemIds);
-
-        Map<Long, List<Booking>> bookingsGroup = bookings.stream()
-                .collect(Collectors.groupingBy(booking -> booking.getItem().getId()));
-
-        List<Comment> comments = commentRepository.findAllByItemIdIn(itemIds);
+        Map<Long, List<CommentDto>> commentsGroup = commentRepository.findDtosByItemIdIn(itemIds).stream()
+                .collect(Collectors.groupingBy(CommentDto::getItemId));
 
-        Map<Long, List<Comment>> commentsGroup = comments.stream()
-                .collect(Collectors.groupingBy(comment -> comment.getItem().getId()));
+        List<Long> ownItemIds = items.stream()
+                .filter(item -> item.getOwner().getId().equals(userId))
+                .map(Item::getId)
+                .toList();
+        Map<Long, ItemBookingDates> bookingDates = ownItemIds.isEmpty()
+                ? Collections.emptyMap()
+                : bookingRepository.findBookingDatesByItemIdIn(ownItemIds, LocalDateTime.now(), BookingStatus.APPROVED)
+                .stream()
+                .collect(Collectors.toMap(ItemBookingDates::itemId, Function.identity()));
 
         return items.stream()
                 .map(item -> {
-                    List<Booking> bookingList = bookingsGroup.getOrDefault(item.getId(), Collections.emptyList());
-                    LocalDateTime lastBooking = bookingList.stream()
-                            .filter(booking -> booking.getEnd().isBefore(LocalDateTime.now()))
-                            .reduce((first, second) -> second)
-                            .map(Booking::getEnd)
-                            .orElse(null);
-
-                    LocalDateTime nextBooking = bookingList.stream()
-                            .filter(booking -> booking.getStart().isAfter(LocalDateTime.now()))
-                            .findFirst()
-                            .map(Booking::getEnd)
-                            .orElse(null);
-
-                    List<Comment> comment = commentsGroup.getOrDefault(item.getId(), Collections.emptyList());
-
-                    return itemMapper.mapToItemDto(item, lastBooking, nextBooking, commentMapper.mapToCommentDto(comment));
+                    ItemBookingDates dates = bookingDates.get(item.getId());
+                    return itemMapper.mapToItemDto(item,
+                            dates != null ? dates.lastBooking() : null,
+                            dates != null ? dates.nextBooking() : null,
+                            commentsGroup.getOrDefault(item.getId(), Collections.emptyList()));
                 }).toList();
     }
 
@@ -121,8 +224,12 @@ public class ItemServiceImpl implements ItemService {
                     .orElseThrow(() -> new NotFoundException("Запрос с id " + requestId + " не найден"));
 
             item.setRequest(itemRequest);
+            eventPublisher.publishEvent(CacheInvalidationEvent.of("/requests/" + requestId));
         }
         itemRepository.save(item);
+        trigramIndex.index(item);
+        fuzzyIndex.index(item);
+        suggestionIndex.index(item);
         return itemMapper.mapToItemDto(item);
     }
 
@@ -131,7 +238,8 @@ public class ItemServiceImpl implements ItemService {
         log.debug("Обновление вещи с Id: {}", itemId);
         checkUser(userId);
 
-        Item oldItem = itemMapper.mapToItem(findItem(itemId, userId));
+        Item oldItem = itemRepository.findById(itemId)
+                .orElseThrow(() -> new NotFoundException("Предмет с Id " + itemId + " не найден"));
         if (!oldItem.getOwner().getId().equals(userId)) {
             throw new NotFoundException("Обновляемая вещь с id = " + itemId + " не принадлежит " +
                     "указанному пользователю с id = " + userId);
@@ -146,34 +254,106 @@ public class ItemServiceImpl implements ItemService {
             oldItem.setAvailable(itemDto.getAvailable());
         }
         Item savedItem = itemRepository.save(oldItem);
+        trigramIndex.index(savedItem);
+        fuzzyIndex.index(savedItem);
+        suggestionIndex.index(savedItem);
+        if (savedItem.getRequest() != null) {
+            eventPublisher.publishEvent(CacheInvalidationEvent.of("/items/" + itemId,
+                    "/requests/" + savedItem.getRequest().getId()));
+        } else {
+            eventPublisher.publishEvent(CacheInvalidationEvent.of("/items/" + itemId));
+        }
         return itemMapper.mapToItemDto(savedItem);
     }
 
     @Override
-    public List<ItemDto> searchItems(String text) {
-        log.debug("Поиск доступной вещи по названию или описанию {}", text);
-        List<Item> foundItems = itemRepository.findByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCase(text, text);
-        return foundItems.stream().filter(Item::getAvailable).map(itemMapper::mapToItemDto).toList();
+    @Transactional(readOnly = true)
+    public SearchPage<ItemDto> searchItems(String text, Integer from, Integer size, boolean withTotal) {
+        log.debug("Поиск доступной вещи по названию или описанию {}, from = {}, size = {}", text, from, size);
+        if (text == null || text.isBlank()) {
+            return SearchPage.empty(withTotal);
+        }
+        Pageable page = searchWindow.page(from, size);
+        SearchPage<Item> found = exactSearch(text, page, withTotal);
+        if (found.content().isEmpty() && fuzzyIndex.isEnabled()
+                && (page.getOffset() == 0 || exactSearch(text, PageRequest.of(0, 1), false).content().isEmpty())) {
+            List<Long> ids = fuzzyIndex.search(text);
+            log.debug("Точных совпадений нет, нечёткий поиск по {} нашёл {} вещей", text, ids.size());
+            found = pageOf(ids, page, withTotal);
+        }
+        return found.map(items -> items.stream().map(itemMapper::mapToItemDto).toList());
+    }
+
+    @Override
+    public List<ItemSuggestionDto> suggestItems(String prefix) {
+        log.debug("Подсказки названий вещей по префиксу {}", prefix);
+        if (prefix == null || prefix.isBlank()) {
+            return Collections.emptyList();
+        }
+        return suggestionIndex.suggest(prefix);
+    }
+
+    private SearchPage<Item> exactSearch(String text, Pageable page, boolean withTotal) {
+        if (trigramIndex.isEnabled()) {
+            return pageOf(trigramIndex.search(text), page, withTotal);
+        }
+        int window = searchWindow.size();
+        if (searchIndex.isInstalled()) {
+            String query = ItemSearchIndex.toTsQuery(text);
+            if (query.isEmpty()) {
+                return SearchPage.empty(withTotal);
+            }
+            Long counted = withTotal ? itemRepository.countRanked(query, window + 1) : null;
+            return SearchPage.of(itemRepository.searchRanked(query, page), counted, window);
+        }
+        String lowercaseText = text.toLowerCase(Locale.ROOT);
+        Long counted = withTotal
+                ? (long) itemRepository.findContainingIds(lowercaseText, Limit.of(window + 1)).size()
+                : null;
+        return SearchPage.of(itemRepository.searchContaining(lowercaseText, page), counted, window);
+    }
+
+    /**
+     * Страница из уже ранжированных индексом id: из базы читаются только вещи этой страницы.
+     */
+    private SearchPage<Item> pageOf(List<Long> rankedIds, Pageable page, boolean withTotal) {
+        int start = (int) Math.min(page.getOffset(), rankedIds.size());
+        List<Long> pageIds = rankedIds.subList(start, Math.min(start + page.getPageSize(), rankedIds.size()));
+        List<Item> items = Collections.emptyList();
+        if (!pageIds.isEmpty()) {
+            Map<Long, Item> loaded = itemRepository.findAllByIdInOrderById(pageIds).stream()
+                    .collect(Collectors.toMap(Item::getId, Function.identity()));
+            items = pageIds.stream().map(loaded::get).filter(Objects::nonNull).toList();
+        }
+        return SearchPage.of(items, withTotal ? (long) rankedIds.size() : null, searchWindow.size());
     }
 
     @Override
     public CommentDto addComment(Comment comment, Long itemId, Long userId) {
         log.debug("Пытаемся добавить комментарий {} . userId={}, itemId={}", comment, userId, itemId);
         User user = checkUser(userId);
-        ItemDto item = findItem(itemId, userId);
+        Item item = itemRepository.findById(itemId)
+                .orElseThrow(() -> new NotFoundException("Предмет с Id " + itemId + " не найден"));
 
         List<Booking> bookings = bookingRepository.findAllByBookerIdAndItemIdAndEndBefore(userId, itemId, LocalDateTime.now());
         if (bookings.isEmpty()) {
             throw new ValidationException("Пользователь " + userId + " не брал в аренду вещь " + itemId);
         }
         comment.setAuthor(user);
-        comment.setItem(itemMapper.mapToItem(item));
+        comment.setItem(item);
         comment.setCreated(LocalDateTime.now());
         Comment saved = commentRepository.save(comment);
+        eventPublisher.publishEvent(CacheInvalidationEvent.of("/items/" + itemId));
         log.debug("Комментарий успешно сохранён. id={}", saved.getId());
         return commentMapper.mapToCommentDto(saved);
     }
 
+    private void checkPeriod(LocalDateTime from, LocalDateTime to) {
+        if (!to.isAfter(from)) {
+            throw new ValidationException("Конец периода должен быть позже начала");
+        }
+    }
+
     private User checkUser(Long id) {
         return userRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Пользователь с id " + id + " не найден"));
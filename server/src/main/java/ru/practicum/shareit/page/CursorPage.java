@@ -0,0 +1,18 @@
+package ru.practicum.shareit.page;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+
+public record CursorPage<T>(List<T> content, @Nullable String nextCursor) {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    public ResponseEntity<List<T>> toResponse() {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (nextCursor != null) {
+            response.header(NEXT_CURSOR_HEADER, nextCursor);
+        }
+        return response.body(content);
+    }
+}
@@ -0,0 +1,45 @@
+package ru.practicum.shareit.page;
+
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.lang.Nullable;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public final class Cursors {
+    private static final String SEPARATOR = "|";
+
+    private Cursors() {
+    }
+
+    public static ScrollPosition position(@Nullable String cursor, Function<String[], Map<String, Object>> keys) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            return ScrollPosition.forward(keys.apply(decoded.split("\\|", -1)));
+        } catch (RuntimeException e) {
+            throw new ValidationException("Некорректный курсор " + cursor);
+        }
+    }
+
+    public static <E, T> CursorPage<T> page(Window<E> window, Function<E, List<?>> keys,
+                                            Function<List<E>, List<T>> mapper) {
+        List<E> content = window.getContent();
+        String next = null;
+        if (window.hasNext() && !content.isEmpty()) {
+            String raw = keys.apply(content.get(content.size() - 1)).stream()
+                    .map(String::valueOf)
+                    .collect(Collectors.joining(SEPARATOR));
+            next = Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+        return new CursorPage<>(mapper.apply(content), next);
+    }
+}
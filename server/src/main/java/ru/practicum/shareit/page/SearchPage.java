@@ -0,0 +1,40 @@
+package ru.practicum.shareit.page;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Страница результатов поиска. Число совпадений считается только по запросу и не дальше окна результатов:
+ * если совпадений больше, отдаётся размер окна с отношением {@code gte}.
+ */
+public record SearchPage<T>(List<T> content, @Nullable Long totalHits, boolean totalExact) {
+    public static final String TOTAL_HITS_HEADER = "X-Total-Hits";
+    public static final String TOTAL_HITS_RELATION_HEADER = "X-Total-Hits-Relation";
+
+    public static <T> SearchPage<T> empty(boolean withTotal) {
+        return new SearchPage<>(List.of(), withTotal ? 0L : null, true);
+    }
+
+    public static <T> SearchPage<T> of(List<T> content, @Nullable Long counted, long window) {
+        if (counted == null) {
+            return new SearchPage<>(content, null, true);
+        }
+        return new SearchPage<>(content, Math.min(counted, window), counted <= window);
+    }
+
+    public <R> SearchPage<R> map(Function<List<T>, List<R>> mapper) {
+        return new SearchPage<>(mapper.apply(content), totalHits, totalExact);
+    }
+
+    public ResponseEntity<List<T>> toResponse() {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (totalHits != null) {
+            response.header(TOTAL_HITS_HEADER, totalHits.toString());
+            response.header(TOTAL_HITS_RELATION_HEADER, totalExact ? "eq" : "gte");
+        }
+        return response.body(content);
+    }
+}
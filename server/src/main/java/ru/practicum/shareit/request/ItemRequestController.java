@@ -3,6 +3,7 @@ package ru.practicum.shareit.request;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
 import lombok.AllArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.service.ItemRequestService;
@@ -28,10 +29,14 @@ public class ItemRequestController {
     }
 
     @GetMapping("/all")
-    List<ItemRequestDto> getRequests(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                     @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-                                     @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
-        return itemRequestService.getAllRequests(userId, from, size);
+    ResponseEntity<List<ItemRequestDto>> getRequests(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                     @RequestParam(required = false) String cursor,
+                                                     @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                                     @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+        if (cursor != null) {
+            return itemRequestService.getAllRequestsByCursor(userId, cursor, size).toResponse();
+        }
+        return ResponseEntity.ok(itemRequestService.getAllRequests(userId, from, size));
     }
 
     @GetMapping("/{requestId}")
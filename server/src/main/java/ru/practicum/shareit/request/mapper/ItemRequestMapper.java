@@ -2,6 +2,9 @@ package ru.practicum.shareit.request.mapper;
 
 
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.model.ItemRequest;
 
@@ -9,10 +12,15 @@ import java.util.List;
 
 @Mapper
 public interface ItemRequestMapper {
+    @Mapping(target = "items", ignore = true)
     ItemRequestDto mapToItemRequestDto(ItemRequest itemRequest);
 
+    @Mapping(target = "version", ignore = true)
     ItemRequest mapToEntity(ItemRequestDto itemRequestDto);
 
+    @Mapping(target = "version", ignore = true)
+    Item mapToItem(ItemDto itemDto);
+
     List<ItemRequestDto> mapToItemRequestDto(Iterable<ItemRequest> itemRequest);
 
 }
@@ -14,7 +14,7 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "Item_Requests")
+@Table(name = "Item_Requests", indexes = @Index(name = "item_requests_created_idx", columnList = "created_date, id"))
 public class ItemRequest {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -23,9 +23,12 @@ public class ItemRequest {
     String description;
     @Column(name = "created_date")
     LocalDateTime created;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     User owner;
     @OneToMany(mappedBy = "request")
     List<Item> items;
+    @Version
+    @Column(name = "version")
+    Long version;
 }
@@ -1,7 +1,10 @@
 package ru.practicum.shareit.request.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 import ru.practicum.shareit.request.model.ItemRequest;
 
@@ -11,4 +14,6 @@ public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long>
     List<ItemRequest> findByOwnerIdOrderByCreatedDesc(Long ownerId);
 
     Page<ItemRequest> findByOwnerIdNotOrderByCreatedDesc(Long ownerId, Pageable page);
+
+    Window<ItemRequest> findByOwnerIdNotOrderByCreatedDescIdDesc(Long ownerId, ScrollPosition position, Limit limit);
 }
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.request.service;
 
+import ru.practicum.shareit.page.CursorPage;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import java.util.List;
@@ -11,5 +12,7 @@ public interface ItemRequestService {
 
     List<ItemRequestDto> getAllRequests(Long userId, Integer from, Integer size);
 
+    CursorPage<ItemRequestDto> getAllRequestsByCursor(Long userId, String cursor, Integer size);
+
     ItemRequestDto getRequestById(Long userId, Long requestId);
 }
@@ -2,14 +2,19 @@ package ru.practicum.shareit.request.service;
 
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.page.CursorPage;
+import ru.practicum.shareit.page.Cursors;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.mapper.ItemRequestMapper;
 import ru.practicum.shareit.request.model.ItemRequest;
@@ -50,6 +55,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ItemRequestDto> getUserRequests(Long userId) {
         log.debug("Получен запрос на просмотр запросов вещей пользователя: {}", userId);
         checkUser(userId);
@@ -58,6 +64,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ItemRequestDto> getAllRequests(Long userId, Integer from, Integer size) {
         log.debug("Получен запрос на получение всех запросов вещей");
         checkUser(userId);
@@ -67,6 +74,19 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public CursorPage<ItemRequestDto> getAllRequestsByCursor(Long userId, String cursor, Integer size) {
+        log.debug("Получен запрос на получение всех запросов вещей, cursor={}", cursor);
+        checkUser(userId);
+        ScrollPosition position = Cursors.position(cursor, keys -> Map.of(
+                "created", LocalDateTime.parse(keys[0]),
+                "id", Long.parseLong(keys[1])));
+        return Cursors.page(itemRequestRepository.findByOwnerIdNotOrderByCreatedDescIdDesc(userId, position, Limit.of(size)),
+                request -> List.of(request.getCreated(), request.getId()), this::getRequestsItems);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public ItemRequestDto getRequestById(Long userId, Long requestId) {
         log.debug("Начинается получение запроса с id {} для пользователя {}", requestId, userId);
         checkUser(userId);
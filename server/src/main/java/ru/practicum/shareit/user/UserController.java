@@ -2,6 +2,7 @@ package ru.practicum.shareit.user;
 
 import lombok.AllArgsConstructor;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.service.UserService;
 
@@ -18,8 +19,16 @@ public class UserController {
         return userService.findAll();
     }
 
+    @GetMapping(params = "ids")
+    public List<UserDto> findUsers(@RequestParam List<Long> ids) {
+        return userService.findUsers(ids);
+    }
+
     @GetMapping("/{userId}")
-    public UserDto findUser(@PathVariable Long userId) {
+    public UserDto findUser(@PathVariable Long userId, WebRequest request) {
+        if (request.checkNotModified(userService.userEtag(userId))) {
+            return null;
+        }
         return userService.findUser(userId);
     }
 
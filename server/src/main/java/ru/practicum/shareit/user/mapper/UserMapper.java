@@ -1,6 +1,7 @@
 package ru.practicum.shareit.user.mapper;
 
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 
@@ -8,6 +9,7 @@ import java.util.List;
 
 @Mapper
 public interface UserMapper {
+    @Mapping(target = "version", ignore = true)
     User mapToUser(UserDto userDto);
 
     UserDto mapToUserDto(User user);
@@ -1,5 +1,7 @@
 package ru.practicum.shareit.user.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -9,6 +11,7 @@ import lombok.*;
 @Setter
 @Entity
 @Table(name = "Users")
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @NoArgsConstructor
 @AllArgsConstructor
 public class User {
@@ -19,4 +22,8 @@ public class User {
     String name;
     @Column(name = "email", nullable = false, unique = true)
     String email;
+    @JsonIgnore
+    @Version
+    @Column(name = "version")
+    Long version;
 }
@@ -11,6 +11,10 @@ public interface UserService {
 
     UserDto findUser(Long userId);
 
+    String userEtag(Long userId);
+
+    List<UserDto> findUsers(List<Long> ids);
+
     UserDto updateUser(UserDto user, Long id);
 
     void removeUser(Long userId);
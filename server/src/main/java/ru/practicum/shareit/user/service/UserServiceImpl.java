@@ -2,15 +2,25 @@ package ru.practicum.shareit.user.service;
 
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.DigestUtils;
+import ru.practicum.shareit.cache.CacheInvalidationEvent;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -18,7 +28,9 @@ import java.util.List;
 @Transactional(readOnly = true)
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
+    private final CommentRepository commentRepository;
     private final UserMapper userMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -45,6 +57,25 @@ public class UserServiceImpl implements UserService {
         return userMapper.mapToUserDto(user);
     }
 
+    @Override
+    public String userEtag(Long userId) {
+        Long version = userRepository.findVersionById(userId)
+                .orElseThrow(() -> new NotFoundException("Пользователь с id " + userId + " не найден"));
+        return DigestUtils.md5DigestAsHex((userId + ":" + version).getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public List<UserDto> findUsers(List<Long> ids) {
+        log.debug("Поиск пользователей по списку id {}", ids);
+        Map<Long, User> users = userRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        return userMapper.mapToUserDto(ids.stream()
+                .distinct()
+                .map(users::get)
+                .filter(Objects::nonNull)
+                .toList());
+    }
+
     @Override
     @Transactional
     public UserDto updateUser(UserDto newUser, Long userId) {
@@ -52,7 +83,11 @@ public class UserServiceImpl implements UserService {
         User oldUser = userRepository.findById(userId)
                 .orElseThrow(() -> new NotFoundException("Пользователь с id " + userId + " не найден"));
 
+        List<String> invalidated = new ArrayList<>(List.of("/users/" + userId));
         if (newUser.getName() != null && !newUser.getName().isBlank()) {
+            if (!newUser.getName().equals(oldUser.getName())) {
+                commentRepository.findItemIdsByAuthorId(userId).forEach(itemId -> invalidated.add("/items/" + itemId));
+            }
             oldUser.setName(newUser.getName());
         }
 
@@ -61,6 +96,7 @@ public class UserServiceImpl implements UserService {
         }
 
         User user = userRepository.save(oldUser);
+        eventPublisher.publishEvent(new CacheInvalidationEvent(invalidated));
         return userMapper.mapToUserDto(user);
     }
 
@@ -69,5 +105,6 @@ public class UserServiceImpl implements UserService {
     public void removeUser(Long userId) {
         log.debug("Удаление пользователя с id = {}", userId);
         userRepository.deleteById(userId);
+        eventPublisher.publishEvent(CacheInvalidationEvent.of("/users/" + userId));
     }
 }
@@ -0,0 +1,145 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.booking.dto.BookingDtoIn;
+import ru.practicum.shareit.booking.dto.BookingDtoOut;
+import ru.practicum.shareit.booking.emun.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.ConflictException;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class BookingConcurrencyTest {
+    private static final int ITEMS = 4;
+    private static final int THREADS = 32;
+    private static final int ATTEMPTS = 20;
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void concurrentBookingsAndApprovals_shouldNeverOverlapOnOneItem() throws Exception {
+        User owner = userRepository.save(User.builder().name("Owner").email("stress-owner@mail.com").build());
+        User booker = userRepository.save(User.builder().name("Booker").email("stress-booker@mail.com").build());
+        List<Long> itemIds = new ArrayList<>();
+        for (int i = 0; i < ITEMS; i++) {
+            itemIds.add(itemRepository.save(Item.builder()
+                    .name("Вещь " + i)
+                    .description("Популярная вещь")
+                    .available(true)
+                    .owner(owner)
+                    .build()).getId());
+        }
+        LocalDateTime base = LocalDateTime.now().plusDays(1).withNano(0);
+        Queue<Long> created = new ConcurrentLinkedQueue<>();
+        AtomicInteger conflicts = new AtomicInteger();
+
+        runConcurrently(thread -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < ATTEMPTS; i++) {
+                LocalDateTime start = base.plusHours(random.nextInt(200));
+                BookingDtoIn request = BookingDtoIn.builder()
+                        .itemId(itemIds.get(random.nextInt(ITEMS)))
+                        .start(start)
+                        .end(start.plusHours(1 + random.nextInt(8)))
+                        .build();
+                try {
+                    created.add(bookingService.createBooking(request, booker.getId()).getId());
+                } catch (ConflictException e) {
+                    conflicts.incrementAndGet();
+                }
+            }
+        });
+        List<Long> ids = new ArrayList<>(created);
+        runConcurrently(thread -> {
+            for (int i = thread; i < ids.size(); i += THREADS) {
+                approveTwice(owner.getId(), ids.get(i));
+            }
+        });
+
+        assertEquals(THREADS * ATTEMPTS, ids.size() + conflicts.get());
+        Map<Long, List<Booking>> approved = bookingRepository.findAllById(ids).stream()
+                .filter(booking -> booking.getStatus() == BookingStatus.APPROVED)
+                .collect(Collectors.groupingBy(booking -> booking.getItem().getId()));
+        assertEquals(ids.size(), approved.values().stream().mapToInt(List::size).sum());
+        for (List<Booking> bookings : approved.values()) {
+            List<Booking> sorted = bookings.stream().sorted(Comparator.comparing(Booking::getStart)).toList();
+            for (int i = 1; i < sorted.size(); i++) {
+                assertFalse(sorted.get(i).getStart().isBefore(sorted.get(i - 1).getEnd()),
+                        "пересекаются " + sorted.get(i - 1).getId() + " и " + sorted.get(i).getId());
+            }
+        }
+    }
+
+    private void approveTwice(Long ownerId, Long bookingId) {
+        BookingDtoOut result = bookingService.approve(ownerId, bookingId, true);
+        assertEquals(BookingStatus.APPROVED, result.getStatus());
+        try {
+            bookingService.approve(ownerId, bookingId, false);
+            throw new AssertionError("Повторное решение по бронированию " + bookingId + " принято");
+        } catch (ValidationException expected) {
+            // бронирование уже подтверждено
+        }
+    }
+
+    private void runConcurrently(ThreadTask task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            int thread = i;
+            futures.add(executor.submit((Callable<Void>) () -> {
+                start.await();
+                task.run(thread);
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+    }
+
+    private interface ThreadTask {
+        void run(int thread);
+    }
+}
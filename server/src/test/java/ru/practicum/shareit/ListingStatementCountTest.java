@@ -0,0 +1,134 @@
+package ru.practicum.shareit;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.emun.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ListingStatementCountTest {
+    private static final int ITEMS = 30;
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    private Statistics statistics;
+    private User owner;
+    private User booker;
+
+    @BeforeAll
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        owner = userRepository.save(User.builder().name("Owner").email("owner@mail.com").build());
+        booker = userRepository.save(User.builder().name("Booker").email("booker@mail.com").build());
+        LocalDateTime now = LocalDateTime.now();
+
+        for (int i = 0; i < ITEMS; i++) {
+            User other = userRepository.save(User.builder().name("User " + i).email("user" + i + "@mail.com").build());
+            ItemRequest request = itemRequestRepository.save(ItemRequest.builder()
+                    .description("Нужна вещь " + i)
+                    .created(now.minusHours(i))
+                    .owner(other)
+                    .build());
+            Item item = itemRepository.save(Item.builder()
+                    .name("Вещь " + i)
+                    .description("Описание " + i)
+                    .available(true)
+                    .owner(owner)
+                    .request(request)
+                    .build());
+            bookingRepository.save(Booking.builder()
+                    .item(item)
+                    .booker(booker)
+                    .start(now.minusDays(i + 2))
+                    .end(now.minusDays(i + 1))
+                    .status(BookingStatus.APPROVED)
+                    .build());
+            bookingRepository.save(Booking.builder()
+                    .item(item)
+                    .booker(other)
+                    .start(now.plusDays(i + 1))
+                    .end(now.plusDays(i + 2))
+                    .status(BookingStatus.WAITING)
+                    .build());
+            commentRepository.save(Comment.builder()
+                    .item(item)
+                    .author(other)
+                    .text("Отзыв " + i)
+                    .created(now)
+                    .build());
+        }
+    }
+
+    @Test
+    void bookerBookings_shouldNotDependOnPageSize() throws Exception {
+        assertStatements(2, "/bookings?state=ALL&from=0&size=%d", booker);
+        assertStatements(2, "/bookings?state=ALL&cursor=&size=%d", booker);
+    }
+
+    @Test
+    void ownerBookings_shouldNotDependOnPageSize() throws Exception {
+        assertStatements(2, "/bookings/owner?state=ALL&from=0&size=%d", owner);
+        assertStatements(2, "/bookings/owner?state=ALL&cursor=&size=%d", owner);
+    }
+
+    @Test
+    void ownerItems_shouldNotDependOnPageSize() throws Exception {
+        assertStatements(4, "/items?from=0&size=%d", owner);
+        assertStatements(3, "/items?cursor=&size=%d", owner);
+    }
+
+    @Test
+    void otherUsersRequests_shouldNotDependOnPageSize() throws Exception {
+        assertStatements(4, "/requests/all?from=0&size=%d", booker);
+        assertStatements(3, "/requests/all?cursor=&size=%d", booker);
+    }
+
+    private void assertStatements(long expected, String template, User user) throws Exception {
+        for (int size : new int[]{2, ITEMS}) {
+            statistics.clear();
+            mvc.perform(get(template.formatted(size)).header("X-Sharer-User-Id", user.getId()))
+                    .andExpectAll(status().isOk(), jsonPath("$.length()").value(size));
+            assertEquals(expected, statistics.getPrepareStatementCount(), template.formatted(size));
+        }
+    }
+}
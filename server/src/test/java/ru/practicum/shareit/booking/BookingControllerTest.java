@@ -8,11 +8,13 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.dto.BookingCountDto;
 import ru.practicum.shareit.booking.dto.BookingDtoIn;
 import ru.practicum.shareit.booking.dto.BookingDtoOut;
 import ru.practicum.shareit.booking.emun.BookingStatus;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.page.CursorPage;
 import ru.practicum.shareit.user.model.User;
 
 import java.nio.charset.StandardCharsets;
@@ -22,6 +24,7 @@ import java.util.List;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -119,6 +122,18 @@ class BookingControllerTest {
                 );
     }
 
+    @Test
+    void getBookingsByIds() throws Exception {
+        when(bookingService.findByIds(List.of(1L), 1L)).thenReturn(bookingDtoOutList);
+
+        mvc.perform(get("/bookings")
+                        .queryParam("ids", "1")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpectAll(status().isOk(),
+                        jsonPath("$[0].id").value(1L),
+                        jsonPath("$[0].item.id").value(bookingDtoIn.getItemId()));
+    }
+
     @Test
     void getAllBookings() throws Exception {
         when(bookingService.findAll(anyLong(), anyString(), any(), any())).thenReturn(bookingDtoOutList);
@@ -135,9 +150,35 @@ class BookingControllerTest {
                         jsonPath("$[0].status").value(bookingDtoOut.getStatus().toString()));
     }
 
+    @Test
+    void getAllBookings_shouldReturnNextCursorHeader_whenCursorRequested() throws Exception {
+        when(bookingService.findAllByCursor(anyLong(), anyString(), eq(""), any()))
+                .thenReturn(new CursorPage<>(bookingDtoOutList, "bmV4dA"));
+
+        mvc.perform(get("/bookings")
+                        .queryParam("state", "ALL")
+                        .queryParam("cursor", "")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpectAll(status().isOk(),
+                        header().string(CursorPage.NEXT_CURSOR_HEADER, "bmV4dA"),
+                        jsonPath("$[0].id").value(1L));
+    }
+
+    @Test
+    void countBookings() throws Exception {
+        when(bookingService.count(1L, "PAST")).thenReturn(new BookingCountDto("PAST", 4L));
+
+        mvc.perform(get("/bookings/count")
+                        .queryParam("state", "PAST")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpectAll(status().isOk(),
+                        jsonPath("$.state").value("PAST"),
+                        jsonPath("$.count").value(4));
+    }
+
     @Test
     void getAllBookingByItemOwner() throws Exception {
-        when(bookingService.findAllByItemOwner(anyLong(), anyString())).thenReturn(bookingDtoOutList);
+        when(bookingService.findAllByItemOwner(anyLong(), anyString(), any(), any())).thenReturn(bookingDtoOutList);
 
         mvc.perform(get("/bookings/owner")
                         .queryParam("state", "ALL")
@@ -150,4 +191,19 @@ class BookingControllerTest {
                         jsonPath("$[0].booker.id").value(bookingDtoOut.getBooker().getId()),
                         jsonPath("$[0].status").value(bookingDtoOut.getStatus().toString()));
     }
+
+    @Test
+    void getAllBookingByItemOwner_shouldReturnNextCursorHeader_whenCursorRequested() throws Exception {
+        when(bookingService.findAllByItemOwnerByCursor(1L, "FUTURE", "", 5))
+                .thenReturn(new CursorPage<>(bookingDtoOutList, "bmV4dA"));
+
+        mvc.perform(get("/bookings/owner")
+                        .queryParam("state", "FUTURE")
+                        .queryParam("cursor", "")
+                        .queryParam("size", "5")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpectAll(status().isOk(),
+                        header().string(CursorPage.NEXT_CURSOR_HEADER, "bmV4dA"),
+                        jsonPath("$[0].id").value(1L));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,296 @@
+package ru.practicum.shareit.booking.availability;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.emun.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingPeriod;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.ConflictException;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookingAvailabilityIndexTest {
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private BookingAvailabilityIndex index;
+    private Item item;
+    private LocalDateTime base;
+    private final AtomicLong ids = new AtomicLong(100);
+    private final UnaryOperator<Booking> save = booking -> {
+        booking.setId(ids.incrementAndGet());
+        return booking;
+    };
+
+    @BeforeEach
+    void setUp() {
+        index = new BookingAvailabilityIndex(bookingRepository);
+        item = Item.builder().id(1L).build();
+        base = LocalDateTime.now().plusDays(1).withNano(0);
+    }
+
+    @Test
+    void reserve_shouldRejectOverlapWithLoadedBooking() {
+        when(bookingRepository.findPeriodsByItemId(eq(1L), any(), eq(BookingAvailabilityIndex.ACTIVE_STATUSES)))
+                .thenReturn(List.of(new BookingPeriod(1L, base, base.plusDays(2))));
+
+        assertThrows(ConflictException.class, () -> index.reserve(booking(base.plusDays(1), base.plusDays(3)), save));
+        Booking adjacent = index.reserve(booking(base.plusDays(2), base.plusDays(3)), save);
+
+        assertEquals(101L, adjacent.getId());
+        verify(bookingRepository, times(1)).findPeriodsByItemId(any(), any(), any());
+    }
+
+    @Test
+    void reserve_shouldTrackSavedBookingsAndReleaseRejected() {
+        when(bookingRepository.findPeriodsByItemId(any(), any(), any())).thenReturn(List.of());
+
+        Booking first = index.reserve(booking(base, base.plusDays(1)), save);
+        assertThrows(ConflictException.class, () -> index.reserve(booking(base.minusHours(1), base.plusHours(1)), save));
+
+        index.release(first);
+
+        assertNotNull(index.reserve(booking(base.minusHours(1), base.plusHours(1)), save));
+    }
+
+    @Test
+    void release_shouldFreePeriodReadBackWithMicrosecondPrecision() {
+        when(bookingRepository.findPeriodsByItemId(any(), any(), any())).thenReturn(List.of());
+        LocalDateTime start = base.withNano(123_456_789);
+
+        Booking reserved = index.reserve(booking(start, start.plusDays(1)), save);
+        Booking reread = booking(start.withNano(123_456_000), start.plusDays(1).withNano(123_456_000));
+        reread.setId(reserved.getId());
+        index.release(reread);
+
+        assertNotNull(index.reserve(booking(start, start.plusDays(1)), save));
+    }
+
+    @Test
+    void release_insideTransaction_shouldFreePeriodOnlyAfterCommit() {
+        when(bookingRepository.findPeriodsByItemId(any(), any(), any())).thenReturn(List.of());
+        Booking first = index.reserve(booking(base, base.plusDays(1)), save);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            index.release(first);
+            assertThrows(ConflictException.class, () -> index.reserve(booking(base, base.plusHours(1)), save));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertNotNull(index.reserve(booking(base, base.plusHours(1)), save));
+    }
+
+    @Test
+    void release_insideRolledBackTransaction_shouldKeepPeriodTaken() {
+        when(bookingRepository.findPeriodsByItemId(any(), any(), any())).thenReturn(List.of());
+        Booking first = index.reserve(booking(base, base.plusDays(1)), save);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            index.release(first);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThrows(ConflictException.class, () -> index.reserve(booking(base, base.plusHours(1)), save));
+    }
+
+    @Test
+    void reserve_shouldFreePeriodWhenSaveFails() {
+        when(bookingRepository.findPeriodsByItemId(any(), any(), any())).thenReturn(List.of());
+
+        assertThrows(IllegalStateException.class, () -> index.reserve(booking(base, base.plusDays(1)), booking -> {
+            throw new IllegalStateException("db is down");
+        }));
+
+        assertNotNull(index.reserve(booking(base, base.plusDays(1)), save));
+    }
+
+    @Test
+    void freeSlots_shouldReturnGapsBetweenActiveBookingsInWindow() {
+        when(bookingRepository.findPeriodsByItemId(any(), any(), any())).thenReturn(List.of(
+                new BookingPeriod(1L, base.plusHours(2), base.plusHours(4)),
+                new BookingPeriod(2L, base.plusHours(3), base.plusHours(5)),
+                new BookingPeriod(3L, base.plusHours(8), base.plusHours(12))));
+
+        List<TimeSlot> free = index.freeSlots(1L, base, base.plusHours(10));
+
+        assertEquals(List.of(new TimeSlot(base, base.plusHours(2)),
+                new TimeSlot(base.plusHours(5), base.plusHours(8))), free);
+        assertEquals(List.of(new TimeSlot(base.plusHours(12), base.plusHours(20))),
+                index.freeSlots(1L, base.plusHours(9), base.plusHours(20)));
+    }
+
+    @Test
+    void freeSlots_shouldOnlyVisitWindowOfLongHistory() {
+        List<BookingPeriod> history = new ArrayList<>();
+        for (long i = 0; i < 100_000; i++) {
+            history.add(new BookingPeriod(i, base.plusHours(2 * i), base.plusHours(2 * i + 1)));
+        }
+        when(bookingRepository.findPeriodsByItemId(any(), any(), any())).thenReturn(history);
+
+        LocalDateTime from = base.plusHours(100_000);
+        List<TimeSlot> free = index.freeSlots(1L, from, from.plusHours(4));
+
+        assertEquals(List.of(new TimeSlot(from.plusHours(1), from.plusHours(2)),
+                new TimeSlot(from.plusHours(3), from.plusHours(4))), free);
+        assertThrows(ConflictException.class, () -> index.reserve(booking(from, from.plusMinutes(30)), save));
+    }
+
+    @Test
+    void release_shouldDropEmptyTimelineAndReloadOnNextAccess() {
+        when(bookingRepository.findPeriodsByItemId(any(), any(), any())).thenReturn(List.of());
+
+        Booking first = index.reserve(booking(base, base.plusDays(1)), save);
+        index.release(first);
+        index.reserve(booking(base, base.plusDays(1)), save);
+
+        verify(bookingRepository, times(2)).findPeriodsByItemId(eq(1L), any(), any());
+    }
+
+    @Test
+    void reserve_shouldNeverAcceptOverlapsUnderContention() throws Exception {
+        when(bookingRepository.findPeriodsByItemId(any(), any(), any())).thenReturn(List.of());
+        Queue<Booking> accepted = new ConcurrentLinkedQueue<>();
+
+        runConcurrently(32, thread -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < 50; i++) {
+                LocalDateTime start = base.plusHours(random.nextInt(500));
+                try {
+                    accepted.add(index.reserve(booking(start, start.plusHours(1 + random.nextInt(12))), save));
+                } catch (ConflictException ignored) {
+                    // пересечение ожидаемо
+                }
+            }
+        });
+
+        List<Booking> sorted = accepted.stream().sorted(Comparator.comparing(Booking::getStart)).toList();
+        assertFalse(sorted.isEmpty());
+        for (int i = 1; i < sorted.size(); i++) {
+            assertFalse(sorted.get(i).getStart().isBefore(sorted.get(i - 1).getEnd()),
+                    "пересекаются " + sorted.get(i - 1).getId() + " и " + sorted.get(i).getId());
+        }
+    }
+
+    @Test
+    void reserve_shouldLoadDistinctItemsInParallel() throws Exception {
+        int items = 16;
+        CountDownLatch loading = new CountDownLatch(items);
+        when(bookingRepository.findPeriodsByItemId(any(), any(), any())).thenAnswer(invocation -> {
+            loading.countDown();
+            assertTrue(loading.await(10, TimeUnit.SECONDS), "загрузки таймлайнов разных предметов идут по очереди");
+            return List.of();
+        });
+
+        runConcurrently(items, thread -> index.reserve(booking(Item.builder().id(thread + 1L).build(),
+                base, base.plusHours(1)), save));
+
+        verify(bookingRepository, times(items)).findPeriodsByItemId(any(), any(), any());
+    }
+
+    @Test
+    void freeSlots_shouldNotKeepEmptyTimeline() {
+        when(bookingRepository.findPeriodsByItemId(any(), any(), any())).thenReturn(List.of());
+
+        index.freeSlots(1L, base, base.plusDays(1));
+        index.freeSlots(1L, base, base.plusDays(1));
+
+        verify(bookingRepository, times(2)).findPeriodsByItemId(eq(1L), any(), any());
+    }
+
+    @Test
+    void freeSlots_shouldDropTimelineLeftEmptyByExpiredBookings() {
+        when(bookingRepository.findPeriodsByItemId(any(), any(), any())).thenReturn(List.of());
+        LocalDateTime now = LocalDateTime.now();
+        index.reserve(booking(now.minusDays(2), now.minusDays(1)), save);
+
+        index.freeSlots(1L, base, base.plusDays(1));
+        verify(bookingRepository, times(1)).findPeriodsByItemId(eq(1L), any(), any());
+
+        index.freeSlots(1L, base, base.plusDays(1));
+        verify(bookingRepository, times(2)).findPeriodsByItemId(eq(1L), any(), any());
+    }
+
+    @Test
+    void reserve_shouldLoadSameItemOnceUnderContention() throws Exception {
+        when(bookingRepository.findPeriodsByItemId(any(), any(), any())).thenAnswer(invocation -> {
+            Thread.sleep(50);
+            return List.of();
+        });
+
+        runConcurrently(16, thread -> index.reserve(booking(base.plusHours(thread), base.plusHours(thread + 1)), save));
+
+        verify(bookingRepository, times(1)).findPeriodsByItemId(any(), any(), any());
+    }
+
+    private void runConcurrently(int threads, ThreadTask task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            int thread = i;
+            futures.add(executor.submit(() -> {
+                start.await();
+                task.run(thread);
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+    }
+
+    private interface ThreadTask {
+        void run(int thread) throws Exception;
+    }
+
+    private Booking booking(LocalDateTime start, LocalDateTime end) {
+        return booking(item, start, end);
+    }
+
+    private Booking booking(Item item, LocalDateTime start, LocalDateTime end) {
+        return Booking.builder()
+                .item(item)
+                .start(start)
+                .end(end)
+                .status(BookingStatus.WAITING)
+                .build();
+    }
+}
@@ -0,0 +1,81 @@
+package ru.practicum.shareit.booking.availability;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.availability.IntervalTree.Interval;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IntervalTreeTest {
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    @Test
+    void findOverlap_shouldTreatIntervalsAsHalfOpen() {
+        IntervalTree tree = new IntervalTree();
+        tree.insert(interval(1, 10, 20));
+
+        assertNull(tree.findOverlap(at(0), at(10)));
+        assertNull(tree.findOverlap(at(20), at(30)));
+        assertEquals(1L, tree.findOverlap(at(19), at(21)).id());
+    }
+
+    @Test
+    void remove_shouldFindIntervalByIdWhateverTheBoundsPrecision() {
+        IntervalTree tree = new IntervalTree();
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 10, 0, 0, 123_456_789);
+        tree.insert(new Interval(7L, start, start.plusHours(1)));
+
+        assertTrue(tree.remove(7L));
+        assertFalse(tree.remove(7L));
+        assertNull(tree.findOverlap(start, start.plusHours(1)));
+        assertEquals(0, tree.size());
+    }
+
+    @Test
+    void shouldMatchBruteForceOnRandomOperations() {
+        Random random = new Random(42);
+        IntervalTree tree = new IntervalTree();
+        List<Interval> expected = new ArrayList<>();
+
+        for (int i = 0; i < 5_000; i++) {
+            if (!expected.isEmpty() && random.nextInt(3) == 0) {
+                Interval removed = expected.remove(random.nextInt(expected.size()));
+                tree.remove(removed.id());
+            } else {
+                int start = random.nextInt(1_000);
+                Interval interval = interval(i, start, start + 1 + random.nextInt(50));
+                tree.insert(interval);
+                expected.add(interval);
+            }
+
+            int from = random.nextInt(1_000);
+            int to = from + 1 + random.nextInt(50);
+            List<Interval> overlapping = expected.stream()
+                    .filter(interval -> interval.overlaps(at(from), at(to)))
+                    .sorted(Comparator.comparing(Interval::start).thenComparingLong(Interval::id))
+                    .toList();
+            List<Interval> actual = new ArrayList<>();
+            tree.forEachOverlap(at(from), at(to), actual::add);
+
+            assertEquals(overlapping, actual);
+            assertEquals(overlapping.isEmpty(), tree.findOverlap(at(from), at(to)) == null);
+            assertEquals(expected.size(), tree.size());
+        }
+    }
+
+    private static Interval interval(long id, int start, int end) {
+        return new Interval(id, at(start), at(end));
+    }
+
+    private static LocalDateTime at(int minutes) {
+        return BASE.plusMinutes(minutes);
+    }
+}
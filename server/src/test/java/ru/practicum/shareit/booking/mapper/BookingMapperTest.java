@@ -7,6 +7,7 @@ import ru.practicum.shareit.booking.dto.BookingDtoIn;
 import ru.practicum.shareit.booking.dto.BookingDtoOut;
 import ru.practicum.shareit.booking.emun.BookingStatus;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingView;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
@@ -57,4 +58,20 @@ class BookingMapperTest {
         List<BookingDtoOut> list = mapper.mapToBookingDto(List.of(b));
         assertEquals(1, list.size());
     }
+
+    @Test
+    void mapView() {
+        LocalDateTime start = LocalDateTime.now();
+        BookingView view = new BookingView(9L, start, start.plusDays(1), BookingStatus.APPROVED,
+                15L, "Drill", "d", true, 4L, "Booker", "booker@mail.com");
+
+        BookingDtoOut dto = mapper.mapToBookingDto(view);
+        assertEquals(9L, dto.getId());
+        assertEquals(start, dto.getStart());
+        assertEquals(BookingStatus.APPROVED, dto.getStatus());
+        assertEquals(15L, dto.getItem().getId());
+        assertEquals("Drill", dto.getItem().getName());
+        assertEquals(4L, dto.getBooker().getId());
+        assertEquals("booker@mail.com", dto.getBooker().getEmail());
+    }
 }
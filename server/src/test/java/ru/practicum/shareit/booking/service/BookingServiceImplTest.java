@@ -5,38 +5,56 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Window;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
 import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import ru.practicum.shareit.booking.availability.BookingAvailabilityIndex;
+import ru.practicum.shareit.cache.CacheInvalidationEvent;
+import ru.practicum.shareit.booking.dto.BookingCountDto;
 import ru.practicum.shareit.booking.dto.BookingDtoIn;
 import ru.practicum.shareit.booking.dto.BookingDtoOut;
-import ru.practicum.shareit.booking.emun.BookingState;
 import ru.practicum.shareit.booking.emun.BookingStatus;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingVersion;
+import ru.practicum.shareit.booking.model.BookingView;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSuggestionIndex;
+import ru.practicum.shareit.page.CursorPage;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
-import java.util.Collections;
+import java.util.Base64;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.UnaryOperator;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @SpringJUnitConfig
 @Import(BookingServiceImpl.class)
+@RecordApplicationEvents
 class BookingServiceImplTest {
     Pageable pageable;
     int from = 0;
@@ -49,10 +67,17 @@ class BookingServiceImplTest {
     private UserRepository userRepository;
     @MockBean
     private ItemRepository itemRepository;
+    @MockBean
+    private BookingAvailabilityIndex availabilityIndex;
+    @MockBean
+    private ItemSuggestionIndex suggestionIndex;
     @Autowired
     private BookingService bookingService;
+    @Autowired
+    private ApplicationEvents events;
     private BookingDtoIn bookingDtoIn;
     private Booking booking;
+    private BookingView bookingView;
     private BookingDtoOut bookingDtoOut;
     private User user;
     private User owner;
@@ -110,6 +135,9 @@ class BookingServiceImplTest {
                 .status(BookingStatus.WAITING)
                 .build();
 
+        bookingView = new BookingView(booking.getId(), start, end, BookingStatus.WAITING, itemId, item.getName(),
+                item.getDescription(), true, userId, user.getName(), user.getEmail());
+
         bookingDtoOut = BookingDtoOut.builder()
                 .id(10L)
                 .start(start)
@@ -120,12 +148,36 @@ class BookingServiceImplTest {
                 .build();
     }
 
+    @Test
+    void bookingEtag_shouldChangeWhenBookingItemOrBookerChange() {
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        when(bookingRepository.findVersionById(10L)).thenReturn(Optional.of(new BookingVersion(0L, 0L, 0L)));
+        String initial = bookingService.bookingEtag(10L, user.getId());
+
+        when(bookingRepository.findVersionById(10L)).thenReturn(Optional.of(new BookingVersion(1L, 0L, 0L)));
+        String approved = bookingService.bookingEtag(10L, user.getId());
+        assertNotEquals(initial, approved);
+
+        when(bookingRepository.findVersionById(10L)).thenReturn(Optional.of(new BookingVersion(1L, 1L, 0L)));
+        assertNotEquals(approved, bookingService.bookingEtag(10L, user.getId()));
+    }
+
+    @Test
+    void bookingEtag_whenBookingNotFound_shouldThrowNotFoundException() {
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        when(bookingRepository.findVersionById(99L)).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> bookingService.bookingEtag(99L, user.getId()));
+    }
+
     @Test
     void createBooking_shouldReturnBookingDto_whenInputIsValid() {
         when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
         when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
         when(bookingMapper.mapToBooking(bookingDtoIn)).thenReturn(booking);
         when(bookingRepository.save(any(Booking.class))).thenReturn(booking);
+        when(availabilityIndex.reserve(eq(booking), any()))
+                .thenAnswer(invocation -> invocation.<UnaryOperator<Booking>>getArgument(1).apply(booking));
         when(bookingMapper.mapToBookingDto(booking)).thenReturn(bookingDtoOut);
 
         BookingDtoOut result = bookingService.createBooking(bookingDtoIn, user.getId());
@@ -139,6 +191,34 @@ class BookingServiceImplTest {
         verify(itemRepository).findById(item.getId());
         verify(bookingRepository).save(any(Booking.class));
         verify(bookingMapper).mapToBookingDto(booking);
+        verify(suggestionIndex).recordBooking(item.getId());
+    }
+
+    @Test
+    void createBooking_shouldThrowConflictException_whenPeriodIsTaken() {
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
+        when(bookingMapper.mapToBooking(bookingDtoIn)).thenReturn(booking);
+        when(availabilityIndex.reserve(eq(booking), any())).thenThrow(new ConflictException("Занято"));
+
+        assertThrows(ConflictException.class, () -> bookingService.createBooking(bookingDtoIn, user.getId()));
+        verify(bookingRepository, never()).save(any(Booking.class));
+        verify(suggestionIndex, never()).recordBooking(anyLong());
+        assertEquals(0, events.stream(CacheInvalidationEvent.class).count());
+    }
+
+    @Test
+    void createBooking_shouldThrowConflictException_whenOverlapConstraintIsViolated() {
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
+        when(bookingMapper.mapToBooking(bookingDtoIn)).thenReturn(booking);
+        when(availabilityIndex.reserve(eq(booking), any())).thenThrow(new DataIntegrityViolationException(
+                "conflicting key value violates exclusion constraint \"bookings_no_overlap\""));
+
+        ConflictException ex = assertThrows(ConflictException.class,
+                () -> bookingService.createBooking(bookingDtoIn, user.getId()));
+
+        assertEquals("Предмет с Id 2 уже забронирован на эти даты", ex.getMessage());
     }
 
     @Test
@@ -175,34 +255,65 @@ class BookingServiceImplTest {
         assertEquals("Предмет с Id 2 не доступен для бронирования", ex.getMessage());
     }
 
+    @Test
+    void findByIds_shouldLoadBookingsInOneQueryAndKeepRequestedOrder() {
+        Booking other = Booking.builder()
+                .id(booking.getId() + 1)
+                .item(item)
+                .booker(user)
+                .status(BookingStatus.WAITING)
+                .build();
+        List<Long> ids = List.of(other.getId(), booking.getId());
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        when(bookingRepository.findAllByIdIn(ids)).thenReturn(List.of(booking, other));
+        when(bookingMapper.mapToBookingDto(List.of(other, booking))).thenReturn(List.of(bookingDtoOut));
+
+        List<BookingDtoOut> result = bookingService.findByIds(ids, user.getId());
+
+        assertEquals(List.of(bookingDtoOut), result);
+        verify(bookingRepository).findAllByIdIn(ids);
+    }
+
+    @Test
+    void findByIds_shouldThrowNotFoundException_whenUserNotFound() {
+        when(userRepository.findById(anyLong())).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> bookingService.findByIds(List.of(1L), 99L));
+    }
+
     @Test
     void approve_shouldApproveBooking_whenApprovedTrueAndStatusWaitingAndUserIsOwner() {
+        when(bookingRepository.updateStatusIfWaiting(booking.getId(), owner.getId(), BookingStatus.APPROVED))
+                .thenReturn(1);
         when(bookingRepository.findById(booking.getId())).thenReturn(Optional.of(booking));
-        when(bookingRepository.save(any(Booking.class))).thenReturn(booking);
         when(bookingMapper.mapToBookingDto(booking)).thenReturn(bookingDtoOut);
 
         BookingDtoOut result = bookingService.approve(owner.getId(), booking.getId(), true);
 
         assertNotNull(result);
-        assertEquals(BookingStatus.APPROVED, booking.getStatus());
-        verify(bookingRepository).save(booking);
+        verify(bookingRepository, never()).save(any());
+        verify(availabilityIndex, never()).release(any());
+        assertEquals(List.of(CacheInvalidationEvent.of("/items/" + item.getId(), "/bookings/" + booking.getId(),
+                        "/bookings/count")),
+                events.stream(CacheInvalidationEvent.class).toList());
     }
 
     @Test
     void approve_shouldRejectBooking_whenApprovedFalseAndStatusWaitingAndUserIsOwner() {
+        when(bookingRepository.updateStatusIfWaiting(booking.getId(), owner.getId(), BookingStatus.REJECTED))
+                .thenReturn(1);
         when(bookingRepository.findById(booking.getId())).thenReturn(Optional.of(booking));
-        when(bookingRepository.save(any(Booking.class))).thenReturn(booking);
         when(bookingMapper.mapToBookingDto(booking)).thenReturn(bookingDtoOut);
 
         BookingDtoOut result = bookingService.approve(owner.getId(), booking.getId(), false);
 
         assertNotNull(result);
-        assertEquals(BookingStatus.REJECTED, booking.getStatus());
-        verify(bookingRepository).save(booking);
+        verify(availabilityIndex).release(booking);
     }
 
     @Test
     void approve_shouldThrowNotFoundException_whenBookingNotFound() {
+        when(bookingRepository.updateStatusIfWaiting(any(), any(), any())).thenReturn(0);
         when(bookingRepository.findById(booking.getId())).thenReturn(Optional.empty());
 
         NotFoundException ex = assertThrows(NotFoundException.class,
@@ -213,6 +324,7 @@ class BookingServiceImplTest {
 
     @Test
     void approve_shouldThrowValidationException_whenUserIsNotOwner() {
+        when(bookingRepository.updateStatusIfWaiting(any(), any(), any())).thenReturn(0);
         when(bookingRepository.findById(booking.getId())).thenReturn(Optional.of(booking));
 
         ValidationException ex = assertThrows(ValidationException.class,
@@ -224,12 +336,14 @@ class BookingServiceImplTest {
     @Test
     void approve_shouldThrowValidationException_whenStatusNotWaiting() {
         booking.setStatus(BookingStatus.APPROVED);
+        when(bookingRepository.updateStatusIfWaiting(any(), any(), any())).thenReturn(0);
         when(bookingRepository.findById(booking.getId())).thenReturn(Optional.of(booking));
 
         ValidationException ex = assertThrows(ValidationException.class,
                 () -> bookingService.approve(owner.getId(), booking.getId(), true));
 
         assertEquals("Бронирование подтверждено или отклонено", ex.getMessage());
+        verify(availabilityIndex, never()).release(any());
     }
 
     @Test
@@ -268,11 +382,11 @@ class BookingServiceImplTest {
 
     @Test
     void findAll_shouldReturnList_forDefaultState() {
-        Page<Booking> bookings = new PageImpl<>(List.of(booking));
+        Slice<BookingView> bookings = new SliceImpl<>(List.of(bookingView));
 
         when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
         when(bookingRepository.findAllByBookerId(user.getId(), pageable)).thenReturn(bookings);
-        when(bookingMapper.mapToBookingDto(booking)).thenReturn(bookingDtoOut);
+        when(bookingMapper.mapToBookingDto(bookingView)).thenReturn(bookingDtoOut);
 
         List<BookingDtoOut> result = bookingService.findAll(user.getId(), "ALL", from, size);
 
@@ -281,14 +395,14 @@ class BookingServiceImplTest {
     }
 
     @Test
-    void findAll_shouldReturnList_forCurrentState() {
-        Page<Booking> bookings = new PageImpl<>(List.of(booking));
-        List<BookingDtoOut> dtoList = Collections.singletonList(bookingDtoOut);
+    void findAll_shouldFilterByDates_forCurrentState() {
+        Slice<BookingView> bookings = new SliceImpl<>(List.of(bookingView));
 
         when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
-        when(bookingRepository.findAllByBookerIdAndEndAfterOrderByStartDesc(anyLong(), any(LocalDateTime.class), eq(pageable)))
+        when(bookingRepository.findAllByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(eq(user.getId()),
+                any(LocalDateTime.class), any(LocalDateTime.class), eq(pageable)))
                 .thenReturn(bookings);
-        when(bookingMapper.mapToBookingDto(booking)).thenReturn(bookingDtoOut);
+        when(bookingMapper.mapToBookingDto(bookingView)).thenReturn(bookingDtoOut);
 
         List<BookingDtoOut> result = bookingService.findAll(user.getId(), "CURRENT", from, size);
 
@@ -296,16 +410,118 @@ class BookingServiceImplTest {
         assertEquals(bookingDtoOut, result.get(0));
     }
 
+    @Test
+    void findAll_shouldTakeBookingsStartingLater_forFutureState() {
+        Slice<BookingView> bookings = new SliceImpl<>(List.of(bookingView));
+
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        when(bookingRepository.findAllByBookerIdAndStartAfterOrderByStartDesc(eq(user.getId()),
+                any(LocalDateTime.class), eq(pageable)))
+                .thenReturn(bookings);
+        when(bookingMapper.mapToBookingDto(bookingView)).thenReturn(bookingDtoOut);
+
+        assertEquals(List.of(bookingDtoOut), bookingService.findAll(user.getId(), "FUTURE", from, size));
+    }
+
+    @Test
+    void findAll_shouldNotCountRows_whenSliceHasNext() {
+        Slice<BookingView> bookings = new SliceImpl<>(List.of(bookingView), pageable, true);
+
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        when(bookingRepository.findAllByBookerId(user.getId(), pageable)).thenReturn(bookings);
+        when(bookingMapper.mapToBookingDto(bookingView)).thenReturn(bookingDtoOut);
+
+        List<BookingDtoOut> result = bookingService.findAll(user.getId(), "ALL", from, size);
+
+        assertEquals(List.of(bookingDtoOut), result);
+        verify(bookingRepository, never()).countByBookerId(anyLong());
+    }
+
+    @Test
+    void count_shouldUseStatusCount_forWaitingState() {
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        when(bookingRepository.countByBookerIdAndStatus(user.getId(), BookingStatus.WAITING)).thenReturn(3L);
+
+        BookingCountDto result = bookingService.count(user.getId(), "waiting");
+
+        assertEquals("WAITING", result.getState());
+        assertEquals(3L, result.getCount());
+    }
+
+    @Test
+    void count_shouldMatchListingPredicates_forFutureAndCurrentStates() {
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        when(bookingRepository.countByBookerIdAndStartAfter(eq(user.getId()), any(LocalDateTime.class)))
+                .thenReturn(2L);
+        when(bookingRepository.countByBookerIdAndStartBeforeAndEndAfter(eq(user.getId()), any(LocalDateTime.class),
+                any(LocalDateTime.class)))
+                .thenReturn(1L);
+
+        assertEquals(2L, bookingService.count(user.getId(), "FUTURE").getCount());
+        assertEquals(1L, bookingService.count(user.getId(), "CURRENT").getCount());
+    }
+
+    @Test
+    void count_shouldThrowNotFoundException_whenUserNotFound() {
+        when(userRepository.findById(user.getId())).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> bookingService.count(user.getId(), "ALL"));
+        verify(bookingRepository, never()).countByBookerId(anyLong());
+    }
+
+    @Test
+    void findAllByCursor_shouldReturnNextCursor_whenWindowHasNext() {
+        Window<Booking> window = Window.from(List.of(booking), i -> ScrollPosition.offset(i), true);
+
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        when(bookingRepository.findByBookerIdOrderByStartDescIdDesc(eq(user.getId()), eq(ScrollPosition.keyset()),
+                eq(Limit.of(size)))).thenReturn(window);
+        when(bookingMapper.mapToBookingDto(List.of(booking))).thenReturn(List.of(bookingDtoOut));
+
+        CursorPage<BookingDtoOut> result = bookingService.findAllByCursor(user.getId(), "ALL", "", size);
+
+        assertEquals(List.of(bookingDtoOut), result.content());
+        String expected = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((booking.getStart() + "|" + booking.getId()).getBytes(StandardCharsets.UTF_8));
+        assertEquals(expected, result.nextCursor());
+    }
+
+    @Test
+    void findAllByCursor_shouldSeekFromCursorKeys() {
+        LocalDateTime start = LocalDateTime.of(2026, 1, 1, 12, 0);
+        String cursor = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((start + "|7").getBytes(StandardCharsets.UTF_8));
+        ScrollPosition position = ScrollPosition.forward(Map.of("start", start, "id", 7L));
+
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        when(bookingRepository.findByBookerIdAndStatusOrderByStartDescIdDesc(user.getId(), BookingStatus.WAITING,
+                position, Limit.of(size))).thenReturn(Window.from(List.of(), ScrollPosition::offset));
+        when(bookingMapper.mapToBookingDto(List.<Booking>of())).thenReturn(List.of());
+
+        CursorPage<BookingDtoOut> result = bookingService.findAllByCursor(user.getId(), "WAITING", cursor, size);
+
+        assertTrue(result.content().isEmpty());
+        assertNull(result.nextCursor());
+    }
+
+    @Test
+    void findAllByCursor_shouldThrowValidationException_whenCursorMalformed() {
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+
+        assertThrows(ValidationException.class,
+                () -> bookingService.findAllByCursor(user.getId(), "ALL", "not-a-cursor", size));
+        verify(bookingRepository, never()).findByBookerIdOrderByStartDescIdDesc(anyLong(), any(), any());
+    }
+
     @Test
     void findAllByItemOwner_shouldReturnList_forDefaultState() {
-        List<Booking> bookings = Collections.singletonList(booking);
-        List<BookingDtoOut> dtoList = Collections.singletonList(bookingDtoOut);
+        Slice<BookingView> bookings = new SliceImpl<>(List.of(bookingView), pageable, false);
 
         when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
-        when(bookingRepository.findAllByItemOwnerIdOrderByStartDesc(owner.getId())).thenReturn(bookings);
-        when(bookingMapper.mapToBookingDto(bookings)).thenReturn(dtoList);
+        when(bookingRepository.findAllByItemOwnerIdOrderByStartDesc(owner.getId(), pageable)).thenReturn(bookings);
+        when(bookingMapper.mapToBookingDto(bookingView)).thenReturn(bookingDtoOut);
 
-        List<BookingDtoOut> result = bookingService.findAllByItemOwner(owner.getId(), "ALL");
+        List<BookingDtoOut> result = bookingService.findAllByItemOwner(owner.getId(), "ALL", from, size);
 
         assertEquals(1, result.size());
         assertEquals(bookingDtoOut, result.get(0));
@@ -313,26 +529,68 @@ class BookingServiceImplTest {
 
     @Test
     void findAllByItemOwner_shouldReturnList_forWaitingState() {
-        List<Booking> bookings = Collections.singletonList(booking);
-        List<BookingDtoOut> dtoList = Collections.singletonList(bookingDtoOut);
+        Slice<BookingView> bookings = new SliceImpl<>(List.of(bookingView), pageable, false);
 
         when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
-        when(bookingRepository.findAllByItemOwnerIdAndStatusOrderByStartDesc(owner.getId(), BookingState.WAITING))
-                .thenReturn(bookings);
-        when(bookingMapper.mapToBookingDto(bookings)).thenReturn(dtoList);
+        when(bookingRepository.findAllByItemOwnerIdAndStatusOrderByStartDesc(owner.getId(), BookingStatus.WAITING,
+                pageable)).thenReturn(bookings);
+        when(bookingMapper.mapToBookingDto(bookingView)).thenReturn(bookingDtoOut);
 
-        List<BookingDtoOut> result = bookingService.findAllByItemOwner(owner.getId(), "WAITING");
+        List<BookingDtoOut> result = bookingService.findAllByItemOwner(owner.getId(), "WAITING", from, size);
 
         assertEquals(1, result.size());
         assertEquals(bookingDtoOut, result.get(0));
     }
 
     @Test
-    void findAllByItemOwner_shouldThrowNotFoundException_whenNoBookings() {
+    void findAllByItemOwner_shouldFilterByDates_forCurrentState() {
+        Slice<BookingView> bookings = new SliceImpl<>(List.of(bookingView), pageable, false);
+
         when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
-        when(bookingRepository.findAllByItemOwnerIdOrderByStartDesc(owner.getId())).thenReturn(Collections.emptyList());
+        when(bookingRepository.findAllByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDesc(eq(owner.getId()),
+                any(LocalDateTime.class), any(LocalDateTime.class), eq(pageable))).thenReturn(bookings);
+        when(bookingMapper.mapToBookingDto(bookingView)).thenReturn(bookingDtoOut);
+
+        List<BookingDtoOut> result = bookingService.findAllByItemOwner(owner.getId(), "CURRENT", from, size);
+
+        assertEquals(List.of(bookingDtoOut), result);
+        verify(bookingRepository, never()).findAllByItemOwnerIdAndStatusOrderByStartDesc(anyLong(), any(), any());
+    }
+
+    @Test
+    void findAllByItemOwner_shouldThrowNotFoundException_whenOwnerHasNoItems() {
+        when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
+        when(bookingRepository.findAllByItemOwnerIdOrderByStartDesc(owner.getId(), pageable))
+                .thenReturn(new SliceImpl<>(List.of(), pageable, false));
+        when(itemRepository.existsByOwnerId(owner.getId())).thenReturn(false);
 
         assertThrows(NotFoundException.class,
-                () -> bookingService.findAllByItemOwner(owner.getId(), "ALL"));
+                () -> bookingService.findAllByItemOwner(owner.getId(), "ALL", from, size));
+    }
+
+    @Test
+    void findAllByItemOwner_shouldReturnEmptyList_whenPageIsEmpty() {
+        when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
+        when(bookingRepository.findAllByItemOwnerIdAndStatusOrderByStartDesc(eq(owner.getId()),
+                eq(BookingStatus.REJECTED), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of()));
+        when(itemRepository.existsByOwnerId(owner.getId())).thenReturn(true);
+
+        assertTrue(bookingService.findAllByItemOwner(owner.getId(), "REJECTED", 100, size).isEmpty());
+    }
+
+    @Test
+    void findAllByItemOwnerByCursor_shouldReturnNextCursor_forPastState() {
+        Window<Booking> window = Window.from(List.of(booking), ScrollPosition::offset, true);
+
+        when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
+        when(bookingRepository.findByItemOwnerIdAndEndBeforeOrderByStartDescIdDesc(eq(owner.getId()),
+                any(LocalDateTime.class), eq(ScrollPosition.keyset()), eq(Limit.of(size)))).thenReturn(window);
+        when(bookingMapper.mapToBookingDto(List.of(booking))).thenReturn(List.of(bookingDtoOut));
+
+        CursorPage<BookingDtoOut> result = bookingService.findAllByItemOwnerByCursor(owner.getId(), "PAST", "", size);
+
+        assertEquals(List.of(bookingDtoOut), result.content());
+        assertNotNull(result.nextCursor());
     }
 }
\ No newline at end of file
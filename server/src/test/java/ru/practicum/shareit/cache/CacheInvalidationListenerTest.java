@@ -0,0 +1,51 @@
+package ru.practicum.shareit.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CacheInvalidationListenerTest {
+    private final CacheInvalidationListener listener = new CacheInvalidationListener();
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void onInvalidation_shouldAddHeaderForEachPath() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(
+                new ServletRequestAttributes(new MockHttpServletRequest(), response));
+
+        listener.onInvalidation(CacheInvalidationEvent.of("/items/1", "/bookings/2"));
+
+        assertEquals(List.of("/items/1", "/bookings/2"),
+                response.getHeaders(CacheInvalidationListener.INVALIDATE_HEADER));
+    }
+
+    @Test
+    void onInvalidation_shouldSkipCommittedResponse() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setCommitted(true);
+        RequestContextHolder.setRequestAttributes(
+                new ServletRequestAttributes(new MockHttpServletRequest(), response));
+
+        listener.onInvalidation(CacheInvalidationEvent.of("/items/1"));
+
+        assertTrue(response.getHeaders(CacheInvalidationListener.INVALIDATE_HEADER).isEmpty());
+    }
+
+    @Test
+    void onInvalidation_shouldIgnoreEventOutsideRequest() {
+        listener.onInvalidation(CacheInvalidationEvent.of("/items/1"));
+    }
+}
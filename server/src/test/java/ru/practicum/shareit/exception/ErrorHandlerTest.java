@@ -7,6 +7,7 @@ import jakarta.validation.constraints.NotBlank;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
@@ -61,6 +62,11 @@ class ErrorHandlerTest {
             void dataIntegrity() {
                 throw new DataIntegrityViolationException("db error");
             }
+
+            @GetMapping("/optimistic-lock")
+            void optimisticLock() {
+                throw new OptimisticLockingFailureException("stale version");
+            }
         }
 
         mockMvc = MockMvcBuilders
@@ -123,6 +129,13 @@ class ErrorHandlerTest {
                 .andExpect(jsonPath("$.error").value("Ошибка сохранения данных."));
     }
 
+    @Test
+    void handleOptimisticLocking() throws Exception {
+        mockMvc.perform(get("/optimistic-lock"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").value("Данные были изменены другим запросом, повторите попытку."));
+    }
+
     private static class Dto {
         @NotBlank(message = "must not be blank")
         private String name;
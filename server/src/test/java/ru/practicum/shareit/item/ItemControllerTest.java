@@ -6,20 +6,29 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.availability.TimeSlot;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemSuggestionDto;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.page.SearchPage;
 
 import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -64,6 +73,80 @@ class ItemControllerTest {
         items = List.of(itemDto, itemDto2);
     }
 
+    @Test
+    void getItem_shouldReturnEtag() throws Exception {
+        when(itemService.itemEtag(1L, 1L)).thenReturn("abc");
+        when(itemService.findItem(1L, 1L)).thenReturn(itemDto);
+
+        mvc.perform(get("/items/1")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpectAll(status().isOk(),
+                        header().string(HttpHeaders.ETAG, "\"abc\""),
+                        jsonPath("$.id").value(1L));
+    }
+
+    @Test
+    void getItem_whenEtagMatches_shouldReturnNotModified() throws Exception {
+        when(itemService.itemEtag(1L, 1L)).thenReturn("abc");
+
+        mvc.perform(get("/items/1")
+                        .header("X-Sharer-User-Id", 1L)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"abc\""))
+                .andExpectAll(status().isNotModified(),
+                        header().string(HttpHeaders.ETAG, "\"abc\""));
+        verify(itemService, never()).findItem(anyLong(), anyLong());
+    }
+
+    @Test
+    void getAvailability() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 10, 0);
+        LocalDateTime to = from.plusDays(1);
+        when(itemService.findAvailability(1L, from, to)).thenReturn(ItemAvailabilityDto.builder()
+                .itemId(1L)
+                .from(from)
+                .to(to)
+                .freeSlots(List.of(new TimeSlot(from.plusHours(2), to)))
+                .build());
+
+        mvc.perform(get("/items/1/availability")
+                        .queryParam("from", from.toString())
+                        .queryParam("to", to.toString()))
+                .andExpectAll(status().isOk(),
+                        jsonPath("$.itemId").value(1L),
+                        jsonPath("$.freeSlots[0].start").value("2030-01-01T12:00:00"),
+                        jsonPath("$.freeSlots[0].end").value("2030-01-02T10:00:00"));
+    }
+
+    @Test
+    void getAvailabilityForSeveralItems() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 10, 0);
+        LocalDateTime to = from.plusDays(1);
+        when(itemService.findAvailability(List.of(1L, 2L), from, to)).thenReturn(List.of(
+                ItemAvailabilityDto.builder().itemId(1L).freeSlots(List.of()).build(),
+                ItemAvailabilityDto.builder().itemId(2L).freeSlots(List.of()).build()));
+
+        mvc.perform(get("/items/availability")
+                        .queryParam("ids", "1,2")
+                        .queryParam("from", from.toString())
+                        .queryParam("to", to.toString()))
+                .andExpectAll(status().isOk(),
+                        jsonPath("$.length()").value(2),
+                        jsonPath("$[1].itemId").value(2L));
+    }
+
+    @Test
+    void getItemsByIds() throws Exception {
+        when(itemService.findItems(List.of(1L, 2L), 1L)).thenReturn(items);
+
+        mvc.perform(get("/items")
+                        .queryParam("ids", "1,2")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpectAll(status().isOk(),
+                        jsonPath("$.length()").value(2),
+                        jsonPath("$[0].id").value(1L),
+                        jsonPath("$[1].comments[0].text").value("CommentText"));
+    }
+
     @Test
     void getItem() throws Exception {
         when(itemService.findItem(anyLong(), anyLong())).thenReturn(itemDto);
@@ -94,14 +177,38 @@ class ItemControllerTest {
 
     @Test
     void searchItems() throws Exception {
-        when(itemService.searchItems("Name")).thenReturn(items);
+        when(itemService.searchItems("Name", 0, 10, false)).thenReturn(new SearchPage<>(items, null, true));
 
         mvc.perform(get("/items/search?text=Name"))
                 .andExpectAll(status().isOk(),
                         jsonPath("$[0].id").value(1L),
                         jsonPath("$[0].name").value("Name"),
                         jsonPath("$[0].description").value("Description"),
-                        jsonPath("$[0].available").value(true)
+                        jsonPath("$[0].available").value(true),
+                        header().doesNotExist(SearchPage.TOTAL_HITS_HEADER)
+                );
+    }
+
+    @Test
+    void searchItems_withTotal_shouldReturnTotalHitHeaders() throws Exception {
+        when(itemService.searchItems("Name", 10, 5, true)).thenReturn(new SearchPage<>(List.of(itemDto2), 1000L, false));
+
+        mvc.perform(get("/items/search?text=Name&from=10&size=5&total=true"))
+                .andExpectAll(status().isOk(),
+                        jsonPath("$[0].id").value(2L),
+                        header().string(SearchPage.TOTAL_HITS_HEADER, "1000"),
+                        header().string(SearchPage.TOTAL_HITS_RELATION_HEADER, "gte")
+                );
+    }
+
+    @Test
+    void suggestItems() throws Exception {
+        when(itemService.suggestItems("Na")).thenReturn(List.of(new ItemSuggestionDto(1L, "Name")));
+
+        mvc.perform(get("/items/suggest?prefix=Na"))
+                .andExpectAll(status().isOk(),
+                        jsonPath("$[0].id").value(1L),
+                        jsonPath("$[0].name").value("Name")
                 );
     }
 
@@ -0,0 +1,75 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Задержка нечёткого поиска в зависимости от размера словаря. Запуск:
+ * {@code mvn test -pl server -Dtest=FuzzyIndexBenchmark -Dbenchmark=true -DargLine=-Xmx6g}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class FuzzyIndexBenchmark {
+    private static final int ITEMS = Integer.getInteger("benchmark.items", 1_000_000);
+    private static final int WORDS_PER_ITEM = 7;
+    private static final int QUERIES = 500;
+    private static final int WARMUP_ROUNDS = 1;
+    private static final int MEASURED_ROUNDS = 4;
+
+    @Test
+    void queryLatencyByDictionarySize() {
+        for (int dictionarySize : new int[]{10_000, 100_000, 500_000}) {
+            Random random = new Random(dictionarySize);
+            String[] words = randomWords(random, dictionarySize);
+            FuzzyIndex index = new FuzzyIndex();
+            for (long id = 1; id <= ITEMS; id++) {
+                StringBuilder description = new StringBuilder();
+                for (int k = 1; k < WORDS_PER_ITEM; k++) {
+                    description.append(words[random.nextInt(words.length)]).append(' ');
+                }
+                index.put(id, words[random.nextInt(words.length)], description.toString());
+            }
+            String[] queries = new String[QUERIES];
+            for (int i = 0; i < QUERIES; i++) {
+                char[] typo = words[random.nextInt(words.length)].toCharArray();
+                typo[random.nextInt(typo.length)] = (char) ('а' + random.nextInt(32));
+                queries[i] = new String(typo);
+            }
+
+            for (int distance = 1; distance <= 2; distance++) {
+                long hits = 0;
+                for (int round = 0; round < WARMUP_ROUNDS; round++) {
+                    for (String query : queries) {
+                        hits += index.search(query, distance).size();
+                    }
+                }
+                long started = System.nanoTime();
+                for (int round = 0; round < MEASURED_ROUNDS; round++) {
+                    for (String query : queries) {
+                        hits += index.search(query, distance).size();
+                    }
+                }
+                double micros = (System.nanoTime() - started) / 1e3 / (MEASURED_ROUNDS * QUERIES);
+                System.out.printf("items=%d dictionary=%d max-distance=%d: %.1f us/query, %.1f hits/query%n",
+                        ITEMS, index.dictionarySize(), distance, micros,
+                        (double) hits / ((WARMUP_ROUNDS + MEASURED_ROUNDS) * QUERIES));
+            }
+        }
+    }
+
+    private static String[] randomWords(Random random, int count) {
+        Set<String> words = new HashSet<>();
+        while (words.size() < count) {
+            StringBuilder word = new StringBuilder();
+            int length = 4 + random.nextInt(9);
+            for (int i = 0; i < length; i++) {
+                word.append((char) ('а' + random.nextInt(32)));
+            }
+            words.add(word.toString());
+        }
+        return words.toArray(String[]::new);
+    }
+}
@@ -0,0 +1,105 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FuzzyIndexTest {
+    private FuzzyIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new FuzzyIndex();
+        index.put(1L, "Дрель", "Аккумуляторная дрель");
+        index.put(2L, "Отвертка", "Простая отвертка");
+        index.put(3L, "Перфоратор", "Ударный, для бетона");
+    }
+
+    @Test
+    void search_shouldTolerateTyposWithinDistance() {
+        assertEquals(List.of(1L), index.search("дрэль", 1));
+        assertEquals(List.of(2L), index.search("отвёртка", 1));
+        assertEquals(List.of(3L), index.search("пурфаратор", 2));
+        assertTrue(index.search("пурфаратор", 1).isEmpty());
+    }
+
+    @Test
+    void search_shouldAllowOneTypoPerFourLetters() {
+        assertTrue(index.search("дла", 2).isEmpty());
+        assertEquals(List.of(3L), index.search("для", 2));
+        assertEquals(List.of(3L), index.search("бетна", 2));
+        assertTrue(index.search("бтна", 2).isEmpty());
+    }
+
+    @Test
+    void search_shouldRequireEveryWordToMatch() {
+        assertEquals(List.of(1L), index.search("акумуляторная дрел", 1));
+        assertTrue(index.search("акумуляторная отвертка", 1).isEmpty());
+    }
+
+    @Test
+    void put_shouldReplaceWordsAndRemoveShouldForgetItem() {
+        index.put(1L, "Молоток", "Стальной");
+
+        assertTrue(index.search("дрель", 1).isEmpty());
+        assertEquals(List.of(1L), index.search("малоток", 1));
+
+        index.remove(1L);
+
+        assertTrue(index.search("малоток", 1).isEmpty());
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void dictionary_shouldAgreeWithBruteForceLevenshtein() {
+        Random random = new Random(7);
+        FuzzyDictionary dictionary = new FuzzyDictionary();
+        TreeSet<String> words = new TreeSet<>();
+        for (int i = 0; i < 3_000; i++) {
+            String word = randomWord(random, 1 + random.nextInt(8));
+            dictionary.add(word);
+            words.add(word);
+        }
+
+        for (int i = 0; i < 300; i++) {
+            String query = randomWord(random, 1 + random.nextInt(8));
+            int radius = random.nextInt(3);
+            List<String> expected = words.stream().filter(word -> levenshtein(word, query) <= radius).toList();
+            List<String> found = new ArrayList<>();
+            dictionary.search(query, radius, found::add);
+
+            assertEquals(expected, found.stream().sorted().toList(), query + " ~" + radius);
+        }
+        assertEquals(words.size(), dictionary.size());
+    }
+
+    private static int levenshtein(String a, String b) {
+        int[][] distance = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++) {
+            for (int j = 0; j <= b.length(); j++) {
+                if (i == 0 || j == 0) {
+                    distance[i][j] = i + j;
+                } else {
+                    distance[i][j] = Math.min(distance[i - 1][j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1),
+                            Math.min(distance[i - 1][j], distance[i][j - 1]) + 1);
+                }
+            }
+        }
+        return distance[a.length()][b.length()];
+    }
+
+    private static String randomWord(Random random, int length) {
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            word.append((char) ('а' + random.nextInt(4)));
+        }
+        return word.toString();
+    }
+}
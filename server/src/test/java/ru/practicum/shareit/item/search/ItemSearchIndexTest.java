@@ -0,0 +1,19 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ItemSearchIndexTest {
+
+    @Test
+    void toTsQuery_shouldJoinLowercasedPrefixes() {
+        assertEquals("дрель:* & 18v:*", ItemSearchIndex.toTsQuery("  Дрель, 18V "));
+    }
+
+    @Test
+    void toTsQuery_shouldDropTsQuerySyntax() {
+        assertEquals("a:* & b:* & c:*", ItemSearchIndex.toTsQuery("a & !b | c:*"));
+        assertEquals("", ItemSearchIndex.toTsQuery("&|!():*'"));
+    }
+}
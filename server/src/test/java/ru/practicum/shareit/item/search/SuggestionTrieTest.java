@@ -0,0 +1,145 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SuggestionTrieTest {
+    private SuggestionTrie trie;
+
+    @BeforeEach
+    void setUp() {
+        trie = new SuggestionTrie(2);
+        trie.put(1L, "Дрель ударная");
+        trie.put(2L, "Дрель аккумуляторная");
+        trie.put(3L, "Другая отвертка");
+    }
+
+    @Test
+    void suggest_shouldMatchPrefixOfAnyWordInName() {
+        assertArrayEquals(new long[]{1L, 2L}, trie.suggest("Дре"));
+        assertArrayEquals(new long[]{2L}, trie.suggest("акк"));
+        assertArrayEquals(new long[]{3L}, trie.suggest("отв"));
+        assertArrayEquals(new long[0], trie.suggest("пила"));
+        assertArrayEquals(new long[0], trie.suggest("  "));
+    }
+
+    @Test
+    void suggest_shouldKeepMostBookedItemsUpToLimit() {
+        trie.addPopularity(3L, 2);
+        trie.addPopularity(2L, 1);
+
+        assertArrayEquals(new long[]{3L, 2L}, trie.suggest("др"));
+        assertArrayEquals(new long[]{2L, 1L}, trie.suggest("дрель"));
+    }
+
+    @Test
+    void suggest_shouldRequireEarlierWordsInName() {
+        assertArrayEquals(new long[]{2L}, trie.suggest("дрель ак"));
+        assertArrayEquals(new long[0], trie.suggest("отвертка ак"));
+    }
+
+    @Test
+    void suggest_shouldFindMatchesRankedBelowNodeTop_whenEarlierWordsFilterTopOut() {
+        trie.put(4L, "Крестовая отвертка");
+        trie.put(5L, "Кронштейн");
+        trie.put(6L, "Дрель крепкая");
+        trie.put(7L, "Дрель кривая");
+        trie.addPopularity(4L, 2);
+        trie.addPopularity(5L, 2);
+        trie.addPopularity(7L, 1);
+
+        assertArrayEquals(new long[]{4L, 5L}, trie.suggest("кр"));
+        assertArrayEquals(new long[]{7L, 6L}, trie.suggest("дрель кр"));
+        assertArrayEquals(new long[]{7L}, trie.suggest("дрель крив"));
+    }
+
+    @Test
+    void putAndRemove_shouldReplaceNameAndPruneEmptyBranches() {
+        trie.put(1L, "Молоток");
+
+        assertArrayEquals(new long[]{2L}, trie.suggest("дрель"));
+        assertArrayEquals(new long[]{1L}, trie.suggest("мол"));
+
+        trie.remove(1L);
+        trie.remove(2L);
+
+        assertArrayEquals(new long[0], trie.suggest("мол"));
+        assertArrayEquals(new long[]{3L}, trie.suggest("д"));
+        assertEquals(1, trie.size());
+    }
+
+    @Test
+    void suggest_shouldAgreeWithBruteForceRanking() {
+        Random random = new Random(11);
+        SuggestionTrie big = new SuggestionTrie(5);
+        Map<Long, String> names = new HashMap<>();
+        Map<Long, Long> bookings = new HashMap<>();
+        for (int round = 0; round < 2_000; round++) {
+            long id = 1 + random.nextInt(300);
+            switch (random.nextInt(3)) {
+                case 0 -> {
+                    String name = randomWord(random) + " " + randomWord(random);
+                    big.put(id, name);
+                    names.put(id, name);
+                }
+                case 1 -> {
+                    big.remove(id);
+                    names.remove(id);
+                }
+                default -> {
+                    big.addPopularity(id, 1);
+                    bookings.merge(id, 1L, Long::sum);
+                }
+            }
+        }
+
+        for (int i = 0; i < 200; i++) {
+            String prefix = randomWord(random).substring(0, 1 + random.nextInt(3));
+            long[] expected = names.entrySet().stream()
+                    .filter(entry -> Arrays.stream(Words.of(entry.getValue())).anyMatch(word -> word.startsWith(prefix)))
+                    .map(Map.Entry::getKey)
+                    .sorted(Comparator.<Long>comparingLong(id -> -bookings.getOrDefault(id, 0L))
+                            .thenComparingLong(id -> id))
+                    .limit(5)
+                    .mapToLong(Long::longValue)
+                    .toArray();
+
+            assertArrayEquals(expected, big.suggest(prefix), prefix);
+        }
+        for (int i = 0; i < 200; i++) {
+            String first = randomWord(random);
+            String prefix = randomWord(random).substring(0, 1 + random.nextInt(3));
+            long[] expected = names.entrySet().stream()
+                    .filter(entry -> Arrays.asList(Words.of(entry.getValue())).contains(first))
+                    .filter(entry -> Arrays.stream(Words.of(entry.getValue())).anyMatch(word -> word.startsWith(prefix)))
+                    .map(Map.Entry::getKey)
+                    .sorted(Comparator.<Long>comparingLong(id -> -bookings.getOrDefault(id, 0L))
+                            .thenComparingLong(id -> id))
+                    .limit(5)
+                    .mapToLong(Long::longValue)
+                    .toArray();
+
+            assertArrayEquals(expected, big.suggest(first + " " + prefix), first + " " + prefix);
+        }
+        assertEquals(names.size(), big.size());
+    }
+
+    private static String randomWord(Random random) {
+        List<String> syllables = List.of("ка", "ко", "ра", "ро", "ма");
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < 3; i++) {
+            word.append(syllables.get(random.nextInt(syllables.size())));
+        }
+        return word.toString();
+    }
+}
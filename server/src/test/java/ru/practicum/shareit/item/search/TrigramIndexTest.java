@@ -0,0 +1,118 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TrigramIndexTest {
+    private TrigramIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TrigramIndex();
+        index.put(1L, "Дрель", "Аккумуляторная дрель");
+        index.put(2L, "Отвертка", "Простая отвертка");
+        index.put(3L, "Перфоратор", "Мощнее любой дрели");
+    }
+
+    @Test
+    void search_shouldMatchSubstringIgnoringCase() {
+        assertEquals(List.of(1L, 3L), index.search("ДРЕЛ"));
+        assertEquals(List.of(1L), index.search("улятор"));
+        assertEquals(List.of(2L), index.search("стая от"));
+    }
+
+    @Test
+    void search_shouldRankNameMatchesBeforeDescriptionMatches() {
+        index.put(4L, "Дрель-шуруповерт", "Легкая");
+
+        assertEquals(List.of(1L, 4L, 3L), index.search("дрел"));
+        assertEquals(List.of(2L, 3L, 4L, 1L), index.search("о"));
+    }
+
+    @Test
+    void search_shouldRejectCandidatesWithTrigramsInOtherPlaces() {
+        index.put(4L, "абв", "вгд");
+
+        assertTrue(index.search("абвгд").isEmpty());
+    }
+
+    @Test
+    void search_shouldScanForShortQueries() {
+        assertEquals(List.of(1L, 3L), index.search("ре"));
+        assertEquals(List.of(1L, 2L, 3L), index.search(""));
+    }
+
+    @Test
+    void put_shouldReplaceOldTextAndRemoveShouldForgetItem() {
+        index.put(1L, "Молоток", "Стальной");
+
+        assertEquals(List.of(3L), index.search("дрел"));
+        assertEquals(List.of(1L), index.search("молот"));
+
+        index.remove(1L);
+        index.remove(99L);
+
+        assertTrue(index.search("молот").isEmpty());
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void search_shouldAgreeWithBruteForceOnRandomTexts() {
+        Random random = new Random(42);
+        TrigramIndex large = new TrigramIndex();
+        TreeMap<Long, String> texts = new TreeMap<>();
+        for (long id = 1; id <= 2_000; id++) {
+            String name = randomWord(random, 3 + random.nextInt(6));
+            String description = randomWord(random, 5 + random.nextInt(20));
+            large.put(id, name, description);
+            texts.put(id, name + '\n' + description);
+        }
+        for (long id = 1; id <= 2_000; id += 7) {
+            large.remove(id);
+            texts.remove(id);
+        }
+
+        for (int i = 0; i < 300; i++) {
+            String query = randomWord(random, 1 + random.nextInt(5));
+            List<Long> expected = texts.entrySet().stream()
+                    .filter(entry -> entry.getValue().contains(query))
+                    .sorted(Comparator.comparing(entry -> !entry.getValue().split("\n")[0].contains(query)))
+                    .map(Map.Entry::getKey)
+                    .toList();
+            assertEquals(expected, large.search(query), query);
+        }
+    }
+
+    @Test
+    void postingList_shouldKeepIdsSortedAndSeekForward() {
+        PostingList list = new PostingList();
+        for (long id : new long[]{10, 30, 20, 40, 30, 5}) {
+            list.add(id);
+        }
+
+        assertEquals(5, list.size());
+        assertEquals(1, list.seek(10, 0));
+        assertEquals(3, list.seek(25, 1));
+        assertEquals(5, list.seek(41, 0));
+        assertEquals(5, list.seek(1, 5));
+        assertTrue(list.remove(20));
+        assertEquals(2, list.seek(30, 0));
+    }
+
+    private static String randomWord(Random random, int length) {
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            word.append((char) ('а' + random.nextInt(4)));
+        }
+        return word.toString();
+    }
+}
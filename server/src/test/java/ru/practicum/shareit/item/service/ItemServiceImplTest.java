@@ -5,46 +5,72 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
 import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import ru.practicum.shareit.cache.CacheInvalidationEvent;
+import ru.practicum.shareit.booking.availability.BookingAvailabilityIndex;
+import ru.practicum.shareit.booking.availability.TimeSlot;
 import ru.practicum.shareit.booking.emun.BookingStatus;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.ItemBookingDates;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemSuggestionDto;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemVersion;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemFuzzyIndex;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.item.search.ItemSuggestionIndex;
+import ru.practicum.shareit.item.search.ItemTrigramIndex;
+import ru.practicum.shareit.item.search.SearchWindow;
+import ru.practicum.shareit.page.CursorPage;
+import ru.practicum.shareit.page.SearchPage;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 @SpringJUnitConfig
-@Import(ItemServiceImpl.class)
+@Import({ItemServiceImpl.class, SearchWindow.class})
+@RecordApplicationEvents
 class ItemServiceImplTest {
 
     Pageable pageable;
     int from = 0;
     int size = 10;
     @MockBean
+    private BookingAvailabilityIndex availabilityIndex;
+    @MockBean
     private ItemRepository itemRepository;
     @MockBean
     private ItemMapper itemMapper;
@@ -58,8 +84,18 @@ class ItemServiceImplTest {
     private CommentMapper commentMapper;
     @MockBean
     private ItemRequestRepository itemRequestRepository;
+    @MockBean
+    private ItemSearchIndex searchIndex;
+    @MockBean
+    private ItemTrigramIndex trigramIndex;
+    @MockBean
+    private ItemFuzzyIndex fuzzyIndex;
+    @MockBean
+    private ItemSuggestionIndex suggestionIndex;
     @Autowired
     private ItemService itemService;
+    @Autowired
+    private ApplicationEvents events;
     private User owner;
     private User booker;
     private Item item;
@@ -71,8 +107,8 @@ class ItemServiceImplTest {
 
     @BeforeEach
     void setUp() {
-        owner = new User(1L, "Owner", "owner@mail.com");
-        booker = new User(2L, "User", "user@mail.com");
+        owner = User.builder().id(1L).name("Owner").email("owner@mail.com").build();
+        booker = User.builder().id(2L).name("User").email("user@mail.com").build();
         pageable = PageRequest.of(from / size, size);
         now = LocalDateTime.now();
 
@@ -169,13 +205,138 @@ class ItemServiceImplTest {
         assertEquals("Предмет с Id 999 не найден", exception.getMessage());
     }
 
+    @Test
+    void itemEtag_shouldChangeWhenItemOrCommentsChange() {
+        when(itemRepository.findVersionById(1L)).thenReturn(Optional.of(new ItemVersion(0L, owner.getId(), 0L, 0L, 0L)));
+        String initial = itemService.itemEtag(1L, booker.getId());
+
+        assertEquals(initial, itemService.itemEtag(1L, booker.getId()));
+
+        when(itemRepository.findVersionById(1L)).thenReturn(Optional.of(new ItemVersion(0L, owner.getId(), 1L, 5L, 0L)));
+        String commented = itemService.itemEtag(1L, booker.getId());
+        assertNotEquals(initial, commented);
+
+        when(itemRepository.findVersionById(1L)).thenReturn(Optional.of(new ItemVersion(1L, owner.getId(), 1L, 5L, 0L)));
+        assertNotEquals(commented, itemService.itemEtag(1L, booker.getId()));
+        verify(bookingRepository, never()).findBookingDatesByItemIdIn(anyCollection(), any(), any());
+    }
+
+    @Test
+    void itemEtag_whenUserIsOwner_shouldDependOnBookingDates() {
+        when(itemRepository.findVersionById(1L)).thenReturn(Optional.of(new ItemVersion(0L, owner.getId(), 0L, 0L, 0L)));
+        when(bookingRepository.findBookingDatesByItemIdIn(eq(List.of(1L)), any(), eq(BookingStatus.APPROVED)))
+                .thenReturn(Collections.emptyList());
+        String withoutBookings = itemService.itemEtag(1L, owner.getId());
+
+        when(bookingRepository.findBookingDatesByItemIdIn(eq(List.of(1L)), any(), eq(BookingStatus.APPROVED)))
+                .thenReturn(List.of(new ItemBookingDates(1L, lastBooking.getEnd(), nextBooking.getStart())));
+
+        assertNotEquals(withoutBookings, itemService.itemEtag(1L, owner.getId()));
+    }
+
+    @Test
+    void itemEtag_whenItemNotFound_shouldThrowNotFoundException() {
+        when(itemRepository.findVersionById(999L)).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> itemService.itemEtag(999L, 1L));
+        verify(itemRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void findAvailability_shouldReturnFreeSlotsFromNow() {
+        LocalDateTime to = LocalDateTime.now().plusDays(2);
+        List<TimeSlot> free = List.of(new TimeSlot(to.minusDays(1), to));
+        when(itemRepository.existsById(1L)).thenReturn(true);
+        when(availabilityIndex.freeSlots(eq(1L), any(), eq(to))).thenReturn(free);
+
+        ItemAvailabilityDto result = itemService.findAvailability(1L, to.minusDays(10), to);
+
+        assertEquals(free, result.getFreeSlots());
+        verify(availabilityIndex).freeSlots(eq(1L), argThat(start -> start.isAfter(to.minusDays(3))), eq(to));
+    }
+
+    @Test
+    void findAvailability_whenWindowIsInPast_shouldReturnNoSlots() {
+        LocalDateTime to = LocalDateTime.now().minusDays(1);
+        when(itemRepository.existsById(1L)).thenReturn(true);
+
+        assertTrue(itemService.findAvailability(1L, to.minusDays(1), to).getFreeSlots().isEmpty());
+        verify(availabilityIndex, never()).freeSlots(any(), any(), any());
+    }
+
+    @Test
+    void findAvailability_whenPeriodIsInvalid_shouldThrowValidationException() {
+        LocalDateTime from = LocalDateTime.now().plusDays(1);
+
+        assertThrows(ValidationException.class, () -> itemService.findAvailability(1L, from, from));
+        assertThrows(ValidationException.class, () -> itemService.findAvailability(List.of(), from, from));
+    }
+
+    @Test
+    void findAvailability_whenItemNotFound_shouldThrowNotFoundException() {
+        LocalDateTime from = LocalDateTime.now().plusDays(1);
+        when(itemRepository.existsById(99L)).thenReturn(false);
+
+        assertThrows(NotFoundException.class, () -> itemService.findAvailability(99L, from, from.plusDays(1)));
+    }
+
+    @Test
+    void findAvailability_forSeveralItems_shouldSkipMissingAndKeepOrder() {
+        LocalDateTime from = LocalDateTime.now().plusDays(1);
+        when(itemRepository.findIdsByIdIn(List.of(2L, 99L, 1L))).thenReturn(List.of(1L, 2L));
+        when(availabilityIndex.freeSlots(any(), any(), any())).thenReturn(List.of());
+
+        List<ItemAvailabilityDto> result = itemService.findAvailability(List.of(2L, 99L, 1L), from, from.plusDays(1));
+
+        assertEquals(List.of(2L, 1L), result.stream().map(ItemAvailabilityDto::getItemId).toList());
+    }
+
+    @Test
+    void findItems_shouldBatchLookupsAndFillBookingsOnlyForOwnItems() {
+        Item foreignItem = Item.builder()
+                .id(2L)
+                .name("Foreign")
+                .description("Foreign item")
+                .available(true)
+                .owner(booker)
+                .build();
+        ItemDto foreignDto = ItemDto.builder()
+                .id(2L)
+                .name("Foreign")
+                .ownerId(booker.getId())
+                .build();
+
+        when(itemRepository.findAllByIdIn(List.of(2L, 1L, 99L))).thenReturn(List.of(item, foreignItem));
+        when(commentRepository.findDtosByItemIdIn(anyList())).thenReturn(Collections.emptyList());
+        when(bookingRepository.findBookingDatesByItemIdIn(eq(List.of(1L)), any(), eq(BookingStatus.APPROVED)))
+                .thenReturn(List.of(new ItemBookingDates(1L, lastBooking.getEnd(), nextBooking.getStart())));
+        when(itemMapper.mapToItemDto(item, lastBooking.getEnd(), nextBooking.getStart(), List.of()))
+                .thenReturn(expectedDto);
+        when(itemMapper.mapToItemDto(eq(foreignItem), isNull(), isNull(), anyList()))
+                .thenReturn(foreignDto);
+
+        List<ItemDto> result = itemService.findItems(List.of(2L, 1L, 99L), owner.getId());
+
+        assertEquals(List.of(foreignDto, expectedDto), result);
+        verify(commentRepository, times(1)).findDtosByItemIdIn(anyList());
+        verify(bookingRepository, times(1)).findBookingDatesByItemIdIn(anyCollection(), any(), any());
+    }
+
+    @Test
+    void findItems_whenNothingFound_shouldReturnEmptyList() {
+        when(itemRepository.findAllByIdIn(List.of(99L))).thenReturn(Collections.emptyList());
+
+        List<ItemDto> result = itemService.findItems(List.of(99L), owner.getId());
+
+        assertTrue(result.isEmpty());
+        verify(commentRepository, never()).findDtosByItemIdIn(anyList());
+    }
+
     @Test
     void findUserItems_whenUserHasItem_shouldReturnDtoWithNullBookings() {
         Page<Item> items = new PageImpl<>(List.of(item));
         when(itemRepository.findByOwnerId(any(), any())).thenReturn(items);
-        when(bookingRepository.findAllByItemIdInOrderByStartDesc(anyList())).thenReturn(Collections.emptyList());
-        when(commentRepository.findAllByItemIdIn(List.of(1L))).thenReturn(Collections.emptyList());
-        when(commentMapper.mapToCommentDto(Collections.emptyList())).thenReturn(Collections.emptyList());
+        when(commentRepository.findDtosByItemIdIn(List.of(1L))).thenReturn(Collections.emptyList());
         when(itemMapper.mapToItemDto(any(), isNull(), isNull(), anyList()))
                 .thenReturn(expectedDto);
 
@@ -196,6 +357,22 @@ class ItemServiceImplTest {
         assertTrue(result.isEmpty());
     }
 
+    @Test
+    void findUserItemsByCursor_shouldSeekAfterCursorIdAndReturnNextCursor() {
+        String cursor = Base64.getUrlEncoder().withoutPadding().encodeToString("0".getBytes(StandardCharsets.UTF_8));
+        Window<Item> window = Window.from(List.of(item), ScrollPosition::offset, true);
+        when(itemRepository.findByOwnerIdOrderByIdAsc(1L, ScrollPosition.forward(Map.of("id", 0L)), Limit.of(1)))
+                .thenReturn(window);
+        when(commentRepository.findDtosByItemIdIn(List.of(1L))).thenReturn(Collections.emptyList());
+        when(itemMapper.mapToItemDto(any(), isNull(), isNull(), anyList())).thenReturn(expectedDto);
+
+        CursorPage<ItemDto> result = itemService.findUserItemsByCursor(1L, cursor, 1);
+
+        assertEquals(List.of(expectedDto), result.content());
+        assertEquals(Base64.getUrlEncoder().withoutPadding().encodeToString("1".getBytes(StandardCharsets.UTF_8)),
+                result.nextCursor());
+    }
+
     @Test
     void addItem_whenRequestIdIsNull_shouldSaveItemWithoutRequest() {
         when(userRepository.findById(1L)).thenReturn(Optional.of(owner));
@@ -208,6 +385,9 @@ class ItemServiceImplTest {
         assertNotNull(result);
         assertEquals(expectedDto, result);
         assertNull(item.getRequest());
+        verify(trigramIndex).index(item);
+        verify(fuzzyIndex).index(item);
+        verify(suggestionIndex).index(item);
     }
 
     @Test
@@ -294,6 +474,24 @@ class ItemServiceImplTest {
 
         assertNotNull(result);
         assertEquals(expectedUpdatedDto, result);
+        assertEquals(List.of(CacheInvalidationEvent.of("/items/1")), events.stream(CacheInvalidationEvent.class).toList());
+        verify(trigramIndex).index(updatedItem);
+        verify(fuzzyIndex).index(updatedItem);
+        verify(suggestionIndex).index(updatedItem);
+    }
+
+    @Test
+    void updateItem_whenItemAnswersRequest_shouldInvalidateRequestView() {
+        ItemRequest request = ItemRequest.builder().id(7L).build();
+        item.setRequest(request);
+        when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
+        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
+        when(itemRepository.save(item)).thenReturn(item);
+
+        itemService.updateItem(owner.getId(), ItemDto.builder().name("Updated Name").build(), item.getId());
+
+        assertEquals(List.of(CacheInvalidationEvent.of("/items/1", "/requests/7")),
+                events.stream(CacheInvalidationEvent.class).toList());
     }
 
     @Test
@@ -327,79 +525,144 @@ class ItemServiceImplTest {
 
 
     @Test
-    void searchItems_whenNoItemsFound_shouldReturnEmptyList() {
-        String searchText = "NonExistingText";
-
-        when(itemRepository.findByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCase(anyString(), anyString()))
+    void searchItems_whenNoItemsFound_shouldReturnEmptyPage() {
+        when(itemRepository.searchContaining(eq("nonexistingtext"), any(Pageable.class)))
                 .thenReturn(Collections.emptyList());
 
-        List<ItemDto> result = itemService.searchItems(searchText);
+        SearchPage<ItemDto> result = itemService.searchItems("NonExistingText", 0, 10, false);
 
-        assertNotNull(result);
-        assertTrue(result.isEmpty(), "Результат поиска должен быть пустым");
+        assertTrue(result.content().isEmpty(), "Результат поиска должен быть пустым");
+        assertNull(result.totalHits());
     }
 
     @Test
-    void searchItems_whenItemsFoundAndAvailable_shouldReturnItemDtos() {
-        String searchText = "item";
+    void searchItems_whenItemsFoundAndAvailable_shouldReturnRequestedPage() {
+        when(itemRepository.searchContaining("item", PageRequest.of(2, 5))).thenReturn(List.of(item));
+        when(itemMapper.mapToItemDto(item)).thenReturn(expectedDto);
 
-        Item availableItem = Item.builder()
-                .id(1L)
-                .name("Available Item")
-                .description("Description")
-                .available(true)
-                .owner(owner)
-                .build();
+        SearchPage<ItemDto> result = itemService.searchItems("Item", 10, 5, false);
 
-        ItemDto availableItemDto = ItemDto.builder()
-                .id(availableItem.getId())
-                .name(availableItem.getName())
-                .description(availableItem.getDescription())
-                .available(availableItem.getAvailable())
-                .ownerId(owner.getId())
-                .build();
+        assertEquals(List.of(expectedDto), result.content());
+        verify(itemRepository, never()).findContainingIds(anyString(), any(Limit.class));
+    }
 
-        when(itemRepository.findByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCase(anyString(), anyString()))
-                .thenReturn(List.of(availableItem));
+    @Test
+    void searchItems_withTotal_shouldCountOnlyUpToResultWindow() {
+        when(itemRepository.searchContaining(eq("item"), any(Pageable.class))).thenReturn(List.of(item));
+        when(itemRepository.findContainingIds("item", Limit.of(1001)))
+                .thenReturn(LongStream.rangeClosed(1, 1001).boxed().toList());
+        when(itemMapper.mapToItemDto(item)).thenReturn(expectedDto);
 
-        when(itemMapper.mapToItemDto(availableItem)).thenReturn(availableItemDto);
+        SearchPage<ItemDto> result = itemService.searchItems("item", 0, 10, true);
 
-        List<ItemDto> result = itemService.searchItems(searchText);
+        assertEquals(1000L, result.totalHits());
+        assertFalse(result.totalExact());
+    }
 
-        assertNotNull(result);
-        assertEquals(1, result.size(), "Ожидаем один результат");
-        assertEquals(availableItemDto, result.get(0), "Ожидаем правильный ItemDto");
+    @Test
+    void searchItems_whenPageIsBeyondResultWindow_shouldThrowValidationException() {
+        assertThrows(ValidationException.class, () -> itemService.searchItems("item", 995, 10, false));
+        verifyNoInteractions(itemRepository);
     }
 
     @Test
-    void searchItems_whenItemsFoundButNotAvailable_shouldReturnEmptyList() {
-        String searchText = "item";
+    void searchItems_whenFullTextIndexInstalled_shouldUseRankedPrefixQuery() {
+        ItemDto dto = ItemDto.builder().id(item.getId()).build();
+        when(searchIndex.isInstalled()).thenReturn(true);
+        when(itemRepository.searchRanked("дрел:* & акк:*", PageRequest.of(0, 10))).thenReturn(List.of(item));
+        when(itemRepository.countRanked("дрел:* & акк:*", 1001)).thenReturn(1L);
+        when(itemMapper.mapToItemDto(item)).thenReturn(dto);
+
+        SearchPage<ItemDto> result = itemService.searchItems("Дрел, акк!", 0, 10, true);
+
+        assertEquals(List.of(dto), result.content());
+        assertEquals(1L, result.totalHits());
+        assertTrue(result.totalExact());
+        verify(itemRepository, never()).searchContaining(anyString(), any(Pageable.class));
+    }
 
-        Item unavailableItem = Item.builder()
-                .id(2L)
-                .name("Unavailable Item")
-                .description("Description")
-                .available(false)
-                .owner(owner)
-                .build();
+    @Test
+    void searchItems_whenTrigramIndexEnabled_shouldLoadOnlyPageIdsInRankedOrder() {
+        Item second = Item.builder().id(5L).name("Вторая").available(true).owner(owner).build();
+        ItemDto secondDto = ItemDto.builder().id(5L).build();
+        ItemDto dto = ItemDto.builder().id(item.getId()).build();
+        when(trigramIndex.isEnabled()).thenReturn(true);
+        when(trigramIndex.search("рел")).thenReturn(List.of(7L, 9L, 5L, item.getId()));
+        when(itemRepository.findAllByIdInOrderById(List.of(5L, item.getId()))).thenReturn(List.of(item, second));
+        when(itemMapper.mapToItemDto(item)).thenReturn(dto);
+        when(itemMapper.mapToItemDto(second)).thenReturn(secondDto);
+
+        SearchPage<ItemDto> result = itemService.searchItems("рел", 2, 2, true);
+
+        assertEquals(List.of(secondDto, dto), result.content());
+        assertEquals(4L, result.totalHits());
+        verify(itemRepository, never()).searchRanked(anyString(), any(Pageable.class));
+    }
 
-        when(itemRepository.findByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCase(anyString(), anyString()))
-                .thenReturn(List.of(unavailableItem));
+    @Test
+    void searchItems_whenTrigramIndexFindsNothing_shouldNotQueryDatabase() {
+        when(trigramIndex.isEnabled()).thenReturn(true);
+        when(trigramIndex.search("нет")).thenReturn(List.of());
 
-        List<ItemDto> result = itemService.searchItems(searchText);
+        assertTrue(itemService.searchItems("нет", 0, 10, false).content().isEmpty());
+        verifyNoInteractions(itemRepository);
+    }
 
-        assertNotNull(result);
-        assertTrue(result.isEmpty(), "Предметы, которые не доступны, не должны быть возвращены");
+    @Test
+    void suggestItems_shouldDelegateToSuggestionIndex() {
+        List<ItemSuggestionDto> suggestions = List.of(new ItemSuggestionDto(item.getId(), item.getName()));
+        when(suggestionIndex.suggest("дре")).thenReturn(suggestions);
+
+        assertEquals(suggestions, itemService.suggestItems("дре"));
+        assertTrue(itemService.suggestItems(" ").isEmpty());
+        verify(suggestionIndex, never()).suggest(" ");
     }
 
     @Test
-    void searchItems_whenSearchTextIsEmpty_shouldReturnEmptyList() {
-        String searchText = "";
+    void searchItems_whenNothingMatchesExactly_shouldFallBackToFuzzyIndex() {
+        ItemDto dto = ItemDto.builder().id(item.getId()).build();
+        when(fuzzyIndex.isEnabled()).thenReturn(true);
+        when(fuzzyIndex.search("дрэль")).thenReturn(List.of(item.getId()));
+        when(itemRepository.findAllByIdInOrderById(List.of(item.getId()))).thenReturn(List.of(item));
+        when(itemMapper.mapToItemDto(item)).thenReturn(dto);
+
+        assertEquals(List.of(dto), itemService.searchItems("дрэль", 0, 10, false).content());
+    }
 
-        List<ItemDto> result = itemService.searchItems(searchText);
+    @Test
+    void searchItems_whenExactMatchesEndBeforePage_shouldNotUseFuzzyIndex() {
+        when(fuzzyIndex.isEnabled()).thenReturn(true);
+        when(itemRepository.searchContaining("дрель", PageRequest.of(0, 1))).thenReturn(List.of(item));
 
-        assertNotNull(result);
-        assertTrue(result.isEmpty(), "Поиск по пустому тексту должен вернуть пустой список");
+        assertTrue(itemService.searchItems("дрель", 10, 10, false).content().isEmpty());
+        verify(fuzzyIndex, never()).search(anyString());
+    }
+
+    @Test
+    void searchItems_whenExactMatchFound_shouldNotUseFuzzyIndex() {
+        when(fuzzyIndex.isEnabled()).thenReturn(true);
+        when(itemRepository.searchContaining(eq("дрель"), any(Pageable.class))).thenReturn(List.of(item));
+        when(itemMapper.mapToItemDto(item)).thenReturn(expectedDto);
+
+        assertEquals(List.of(expectedDto), itemService.searchItems("дрель", 0, 10, false).content());
+        verify(fuzzyIndex, never()).search(anyString());
+    }
+
+    @Test
+    void searchItems_whenTextHasNoWords_shouldNotQueryFullTextIndex() {
+        when(searchIndex.isInstalled()).thenReturn(true);
+
+        assertTrue(itemService.searchItems("?!", 0, 10, false).content().isEmpty());
+        verify(itemRepository, never()).searchRanked(anyString(), any(Pageable.class));
+    }
+
+    @Test
+    void searchItems_whenSearchTextIsEmpty_shouldReturnEmptyPage() {
+        SearchPage<ItemDto> result = itemService.searchItems("", 0, 10, true);
+
+        assertTrue(result.content().isEmpty(), "Поиск по пустому тексту должен вернуть пустой список");
+        assertEquals(0L, result.totalHits());
+        verifyNoInteractions(itemRepository);
     }
 
     @Test
@@ -42,6 +42,7 @@ class ItemRequestMapperTest {
         ItemRequestDto dto = mapper.mapToItemRequestDto(ir);
         assertEquals(30L, dto.getId());
         assertEquals("Need X", dto.getDescription());
+        assertNull(dto.getItems());
 
         ItemRequest back = mapper.mapToEntity(ItemRequestDto.builder()
                 .id(40L).description("Ask").created(LocalDateTime.now())
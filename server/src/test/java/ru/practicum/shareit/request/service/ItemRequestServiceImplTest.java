@@ -5,16 +5,20 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.page.CursorPage;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.mapper.ItemRequestMapper;
 import ru.practicum.shareit.request.model.ItemRequest;
@@ -22,9 +26,12 @@ import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -167,6 +174,27 @@ class ItemRequestServiceImplTest {
         assertEquals(itemDto, result.get(0).getItems().get(0));
     }
 
+    @Test
+    void getAllRequestsByCursor_shouldSeekAfterCursorKeys() {
+        LocalDateTime created = LocalDateTime.of(2026, 1, 1, 12, 0);
+        String cursor = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((created + "|7").getBytes(StandardCharsets.UTF_8));
+        ScrollPosition position = ScrollPosition.forward(Map.of("created", created, "id", 7L));
+
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        when(itemRequestRepository.findByOwnerIdNotOrderByCreatedDescIdDesc(user.getId(), position, Limit.of(size)))
+                .thenReturn(Window.from(List.of(request), ScrollPosition::offset));
+        when(itemRepository.findAllByRequestIdIn(List.of(request.getId()))).thenReturn(List.of(item));
+        when(itemMapper.mapToItemDto(item)).thenReturn(itemDto);
+        when(itemRequestMapper.mapToItemRequestDto(request)).thenReturn(mappedDto);
+
+        CursorPage<ItemRequestDto> result = itemRequestService.getAllRequestsByCursor(user.getId(), cursor, size);
+
+        assertEquals(1, result.content().size());
+        assertEquals(itemDto, result.content().get(0).getItems().get(0));
+        assertNull(result.nextCursor());
+    }
+
     @Test
     void getRequestById_shouldReturnDtoWithItems() {
         when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
@@ -52,6 +52,18 @@ class UserControllerTest {
         users = List.of(userDto, userDto2);
     }
 
+    @Test
+    void findUsers_shouldReturnRequestedUsers() throws Exception {
+        when(userService.findUsers(List.of(2L, 1L))).thenReturn(List.of(userDto2, userDto));
+
+        mvc.perform(get("/users")
+                        .queryParam("ids", "2,1"))
+                .andExpectAll(status().isOk(),
+                        jsonPath("$.length()").value(2),
+                        jsonPath("$[0].id").value(2L),
+                        jsonPath("$[1].id").value(1L));
+    }
+
     @Test
     void findAll_shouldReturnUsersAndStatusIsOk() throws Exception {
         when(userService.findAll()).thenReturn(users);
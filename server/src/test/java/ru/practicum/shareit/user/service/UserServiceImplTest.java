@@ -5,8 +5,12 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
 import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import ru.practicum.shareit.cache.CacheInvalidationEvent;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
@@ -20,14 +24,19 @@ import static org.mockito.Mockito.*;
 
 @SpringJUnitConfig
 @Import(UserServiceImpl.class)
+@RecordApplicationEvents
 class UserServiceImplTest {
 
     @MockBean
     private UserRepository userRepository;
     @MockBean
+    private CommentRepository commentRepository;
+    @MockBean
     private UserMapper userMapper;
     @Autowired
     private UserService userService;
+    @Autowired
+    private ApplicationEvents events;
 
     private UserDto userDto;
     private UserDto userDto2;
@@ -99,6 +108,25 @@ class UserServiceImplTest {
         verify(userMapper, times(1)).mapToUserDto(usersList);
     }
 
+    @Test
+    void userEtag_shouldChangeWithVersion() {
+        when(userRepository.findVersionById(1L)).thenReturn(Optional.of(0L));
+        String initial = userService.userEtag(1L);
+
+        assertEquals(initial, userService.userEtag(1L));
+
+        when(userRepository.findVersionById(1L)).thenReturn(Optional.of(1L));
+        assertNotEquals(initial, userService.userEtag(1L));
+        verify(userRepository, never()).findById(1L);
+    }
+
+    @Test
+    void userEtag_whenUserNotFound_shouldThrowNotFoundException() {
+        when(userRepository.findVersionById(99L)).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> userService.userEtag(99L));
+    }
+
     @Test
     void findUser_shouldReturnUser() {
         User user = User.builder()
@@ -120,6 +148,20 @@ class UserServiceImplTest {
         verify(userMapper, times(1)).mapToUserDto(user);
     }
 
+    @Test
+    void findUsers_shouldKeepRequestedOrderAndSkipMissing() {
+        User user = User.builder().id(1L).name("Name").email("Email@email.ru").build();
+        User user2 = User.builder().id(2L).name("Name2").email("Email2@email2.ru").build();
+
+        when(userRepository.findAllById(List.of(2L, 99L, 1L))).thenReturn(List.of(user, user2));
+        when(userMapper.mapToUserDto(List.of(user2, user))).thenReturn(List.of(userDto2, userDto));
+
+        List<UserDto> foundUsers = userService.findUsers(List.of(2L, 99L, 1L));
+
+        assertEquals(List.of(userDto2, userDto), foundUsers);
+        verify(userRepository, times(1)).findAllById(List.of(2L, 99L, 1L));
+    }
+
     @Test
     void findUser_shouldReturnNotFoundException() {
         Long id = 999L;
@@ -159,12 +201,32 @@ class UserServiceImplTest {
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(oldUser));
         when(userRepository.save(any(User.class))).thenReturn(user);
         when(userMapper.mapToUserDto(user)).thenReturn(newUser);
+        when(commentRepository.findItemIdsByAuthorId(1L)).thenReturn(List.of(3L, 5L));
 
         UserDto updatedUser = userService.updateUser(newUser, oldUser.getId());
 
         assertEquals(newUser.getName(), updatedUser.getName());
         assertEquals(newUser.getEmail(), updatedUser.getEmail());
         verify(userRepository, times(1)).save(any(User.class));
+        assertEquals(List.of(CacheInvalidationEvent.of("/users/1", "/items/3", "/items/5")),
+                events.stream(CacheInvalidationEvent.class).toList());
+    }
+
+    @Test
+    void updateUser_shouldNotInvalidateCommentedItems_whenNameIsUnchanged() {
+        User oldUser = User.builder()
+                .id(1L)
+                .name("Name")
+                .email("Email@email.ru")
+                .build();
+
+        when(userRepository.findById(1L)).thenReturn(Optional.of(oldUser));
+        when(userRepository.save(oldUser)).thenReturn(oldUser);
+
+        userService.updateUser(UserDto.builder().name("Name").email("Update@email.ru").build(), 1L);
+
+        verify(commentRepository, never()).findItemIdsByAuthorId(any());
+        assertEquals(List.of(CacheInvalidationEvent.of("/users/1")), events.stream(CacheInvalidationEvent.class).toList());
     }
 
     @Test